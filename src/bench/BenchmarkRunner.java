@@ -0,0 +1,143 @@
+package bench;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal benchmark harness in the style of JMH's average time mode.
+ * Each benchmark is run for a number of timed warmup iterations, whose results
+ * are discarded, and then for a number of timed measurement iterations.
+ * The time per operation of every measurement iteration is reported with its
+ * mean, minimum and maximum. Results of operations are consumed so that the
+ * JIT cannot remove the work.
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class BenchmarkRunner {
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationMillis;
+    private final Pattern include;
+    // written with every result so the operations cannot be optimised away
+    private volatile int sink;
+
+    /**
+     * An operation to measure.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * Run the operation once.
+         *
+         * @param invocation The number of the invocation, from 0 in each benchmark.
+         * @return Any result of the operation, consumed by the runner.
+         * @throws Exception If the operation fails, which stops the benchmark.
+         */
+        Object run(long invocation) throws Exception;
+    }
+
+    /**
+     * Constructor to initialize a BenchmarkRunner.
+     *
+     * @param warmupIterations      Number of iterations run before measuring.
+     * @param measurementIterations Number of iterations measured.
+     * @param iterationMillis       Duration of each iteration.
+     * @param include               Pattern of the names of the benchmarks to run.
+     */
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis, Pattern include) {
+        if (warmupIterations < 0 || measurementIterations < 1 || iterationMillis < 1) {
+            throw new IllegalArgumentException("Invalid benchmark iterations");
+        }
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationMillis = iterationMillis;
+        this.include = include;
+    }
+
+    /**
+     * Check if a benchmark is selected by the include pattern.
+     *
+     * @param name The name of the benchmark.
+     * @return True if the benchmark should run; otherwise, false.
+     */
+    public boolean isIncluded(String name) {
+        return include.matcher(name).find();
+    }
+
+    /**
+     * Run a benchmark if it is included, and print its result.
+     *
+     * @param name      The name of the benchmark.
+     * @param operation The operation to measure.
+     * @throws Exception If the operation fails.
+     */
+    public void run(String name, Operation operation) throws Exception {
+        if (!isIncluded(name)) {
+            return;
+        }
+        long invocation = 0;
+        for (int i = 0; i < warmupIterations; i++) {
+            invocation = iterate(operation, invocation, null);
+        }
+        double[] nanosPerOp = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++) {
+            long[] timing = new long[2];
+            invocation = iterate(operation, invocation, timing);
+            nanosPerOp[i] = (double) timing[0] / timing[1];
+        }
+        double mean = Arrays.stream(nanosPerOp).average().orElse(0);
+        double min = Arrays.stream(nanosPerOp).min().orElse(0);
+        double max = Arrays.stream(nanosPerOp).max().orElse(0);
+        System.out.println(String.format("%-44s %14s %14s %14s", name, format(mean), format(min), format(max)));
+    }
+
+    /**
+     * Run the operation repeatedly for one iteration.
+     *
+     * @param operation  The operation to measure.
+     * @param invocation The number of the next invocation.
+     * @param timing     Receives the elapsed nanoseconds and the number of
+     *                   operations, or null for a warmup iteration.
+     * @return The number of the next invocation.
+     * @throws Exception If the operation fails.
+     */
+    private long iterate(Operation operation, long invocation, long[] timing) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + iterationMillis * 1_000_000L;
+        long operations = 0;
+        long now;
+        do {
+            consume(operation.run(invocation++));
+            operations++;
+            now = System.nanoTime();
+        } while (now < deadline);
+        if (timing != null) {
+            timing[0] = now - start;
+            timing[1] = operations;
+        }
+        return invocation;
+    }
+
+    private void consume(Object result) {
+        sink += result == null ? 1 : System.identityHashCode(result);
+    }
+
+    private static String format(double nanos) {
+        if (nanos >= 1_000_000) {
+            return String.format("%.3f ms/op", nanos / 1_000_000);
+        }
+        if (nanos >= 1_000) {
+            return String.format("%.3f us/op", nanos / 1_000);
+        }
+        return String.format("%.1f ns/op", nanos);
+    }
+
+    /**
+     * Print the header of the result table.
+     */
+    public void printHeader() {
+        System.out.println(String.format("%-44s %14s %14s %14s", "Benchmark", "Mean", "Min", "Max"));
+    }
+}
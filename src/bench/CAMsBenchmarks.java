@@ -0,0 +1,257 @@
+package bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import camp.Camp;
+import camp.CampFilter;
+import camp.CampManager;
+import camp.CampQuery;
+import camp.CampSaver;
+import enquiry.EnquiryManager;
+import login.LoginManager;
+import user.Staff;
+import user.StaffManager;
+import user.StaffTextDB;
+import user.Student;
+import user.StudentManager;
+import user.StudentTextDB;
+import user.UserDirectory;
+import utils.InputValidator;
+import utils.SessionIO;
+
+/**
+ * Benchmarks of the hot paths of CAMs on synthetic data.
+ * The managers load their data from the working directory, so run this from
+ * an empty directory, eg
+ * java -cp bin bench.CAMsBenchmarks --camps 1000 --students 10000 --enquiries 50000
+ *
+ * Options: --camps N, --students N, --staff N, --enquiries N, --seed N,
+ * --warmup N (iterations), --iterations N, --time N (milliseconds per
+ * iteration), --include REGEX (benchmarks to run), --overwrite (replace the
+ * data files in the working directory)
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class CAMsBenchmarks {
+    private int camps = 1000;
+    private int students = 10000;
+    private int staffs = 50;
+    private int enquiries = 10000;
+    private long seed = 2023;
+    private int warmup = 3;
+    private int iterations = 5;
+    private long time = 1000;
+    private String include = ".*";
+    private boolean overwrite = false;
+
+    /**
+     * Generate the data and run the benchmarks.
+     *
+     * @param args The options, see the class description.
+     * @throws Exception If a benchmark fails.
+     */
+    public static void main(String[] args) throws Exception {
+        CAMsBenchmarks benchmarks = new CAMsBenchmarks();
+        if (!benchmarks.parse(args)) {
+            System.out.println("Usage: CAMsBenchmarks [--camps N] [--students N] [--staff N] [--enquiries N]"
+                    + " [--seed N] [--warmup N] [--iterations N] [--time MILLIS] [--include REGEX] [--overwrite]");
+            return;
+        }
+        if (new File("students.txt").exists() && !benchmarks.overwrite) {
+            System.out.println("The working directory already holds CAMs data, run from an empty directory"
+                    + " or pass --overwrite to replace it");
+            return;
+        }
+        benchmarks.run();
+    }
+
+    private boolean parse(String[] args) {
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--camps":
+                        camps = Integer.parseInt(args[++i]);
+                        break;
+                    case "--students":
+                        students = Integer.parseInt(args[++i]);
+                        break;
+                    case "--staff":
+                        staffs = Integer.parseInt(args[++i]);
+                        break;
+                    case "--enquiries":
+                        enquiries = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    case "--warmup":
+                        warmup = Integer.parseInt(args[++i]);
+                        break;
+                    case "--iterations":
+                        iterations = Integer.parseInt(args[++i]);
+                        break;
+                    case "--time":
+                        time = Long.parseLong(args[++i]);
+                        break;
+                    case "--include":
+                        include = args[++i];
+                        break;
+                    case "--overwrite":
+                        overwrite = true;
+                        break;
+                    default:
+                        return false;
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return false;
+        }
+        return camps > 0 && students > 0 && staffs > 0 && enquiries >= 0;
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Generating %d camps, %d students, %d staff and %d enquiries%n", camps, students, staffs,
+                enquiries);
+        new DataGenerator(seed).writeAll(camps, students, staffs, enquiries);
+
+        BenchmarkRunner runner = new BenchmarkRunner(warmup, iterations, time, Pattern.compile(include));
+        // the menus read and print through System.in and System.out, route them per benchmark
+        SessionIO.install();
+        runner.printHeader();
+
+        List<Student> studentList = StudentTextDB.readStudents("students.txt");
+        List<Staff> staffList = StaffTextDB.readStaffs("staffs.txt");
+
+        runner.run("StudentTextDB.readStudents", i -> StudentTextDB.readStudents("students.txt"));
+        runner.run("StudentTextDB.saveStudents", i -> {
+            StudentTextDB.saveStudents("students-bench.txt", studentList);
+            return null;
+        });
+        new File("students-bench.txt").delete();
+
+        TreeMap<String, Camp> campMap = CampSaver.loadCamps();
+        runner.run("CampSaver.saveCamps", i -> {
+            CampSaver.saveCamps(campMap);
+            return null;
+        });
+        runner.run("CampSaver.loadCamps", i -> CampSaver.loadCamps());
+
+        CampManager campManager = CampManager.getInstance();
+        String[][] filters = {
+                { "all", "1\n" },
+                { "creator", "2\n" },
+                { "date", "3\n" + DataGenerator.FIRST_CAMP_DATE.plusDays(camps / 4) + "\n"
+                        + DataGenerator.FIRST_CAMP_DATE.plusDays(camps / 4) + "\n" },
+                { "location", "4\n" + DataGenerator.LOCATIONS[0] + "\n" },
+                { "faculty", "5\n" + DataGenerator.FACULTIES[0] + "\n" } };
+        for (String[] filter : filters) {
+            CampFilter campFilter = new CampFilter();
+            withInput(filter[1], () -> campFilter.changeFilter(new InputValidator(), staffList.get(0)));
+            runner.run("CampManager.getCampList[" + filter[0] + "]",
+                    i -> campManager.getCampList(campFilter, campFilter.getFilter()));
+            runner.run("CampManager.getCampList[" + filter[0] + ",scan]",
+                    i -> campManager.getCampList(campFilter.getFilter()));
+        }
+
+        // several criteria, the planner looks up the date range and tests the rest
+        CampQuery query = new CampQuery().inFaculty(DataGenerator.FACULTIES[0])
+                .heldBetween(DataGenerator.FIRST_CAMP_DATE, DataGenerator.FIRST_CAMP_DATE.plusDays(7))
+                .withFreeSlots().visibleOnly();
+        runner.run("CampManager.query[4 criteria]", i -> campManager.query(query));
+        runner.run("CampManager.query[4 criteria,scan]",
+                i -> campManager.getCampList(query.toPredicate()));
+
+        // upcoming camps still open, looked up in the closure date or date index
+        Clock clock = Clock.fixed(DataGenerator.FIRST_CAMP_DATE.plusDays(camps / 4)
+                .atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        CampQuery upcoming = new CampQuery().heldInNextDays(14, clock).openForRegistration(clock);
+        runner.run("CampManager.query[upcoming,open]", i -> campManager.query(upcoming));
+        runner.run("CampManager.query[upcoming,open,scan]",
+                i -> campManager.getCampList(upcoming.toPredicate()));
+
+        // text search, exact words, a prefix, and misspelt words matched by edit distance
+        String[][] searches = { { "exact", "robotics camp" }, { "prefix", "photo" },
+                { "fuzzy", "entreprenership sustainabilty" }, { "name", "camp 001234" } };
+        for (String[] search : searches) {
+            runner.run("CampManager.searchCamps[" + search[0] + "]",
+                    i -> campManager.searchCamps(search[1], 10, camp -> true));
+        }
+        // most camps matching the words fail the condition, still 10 camps are expected
+        String faculty = DataGenerator.FACULTIES[0];
+        runner.run("CampManager.searchCamps[filtered]", i -> campManager.searchCamps("robotics camp", 10,
+                camp -> camp.isVisible() && camp.getFaculty().equals(faculty)));
+
+        // every invocation tries another student and camp, some clash on date or are already joined
+        runner.run("CampManager.joinCamp", i -> campManager.joinCamp(
+                DataGenerator.campName((int) (i % camps)), DataGenerator.studentID((int) (i / camps % students)),
+                false, false, camp -> true));
+
+        // point awards are written behind, the flushes are counted separately
+        StudentManager studentManager = StudentManager.getInstance();
+        List<Student> managedStudents = studentManager.getStudents();
+        runner.run("StudentManager.addPoint", i -> {
+            studentManager.addPoint(managedStudents.get((int) (i % managedStudents.size())));
+            return null;
+        });
+        studentManager.flushPoints();
+        System.out.println("Point award flushes: " + studentManager.getAwardMetrics());
+
+        EnquiryManager enquiryManager = EnquiryManager.getInstance();
+        runner.run("EnquiryManager.searchEnquiries", i -> enquiryManager
+                .searchEnquiries(DataGenerator.campName((int) (i % camps)), "lunch provded", 10));
+        runner.run("EnquiryManager.findSimilarAnswered", i -> enquiryManager.findSimilarAnswered(
+                DataGenerator.campName((int) (i % camps)), "what time does the camp start?", 3));
+        runner.run("EnquiryManager.listAllCampEnquiriesByIndex", i -> {
+            withInput("", () -> enquiryManager.listAllCampEnquiriesByIndex(DataGenerator.campName((int) (i % camps))));
+            return null;
+        });
+
+        UserDirectory<Student> studentDirectory = StudentManager.getInstance().getStudentDirectory();
+        LoginManager loginManager = new LoginManager(studentDirectory, StaffManager.getInstance().getStaffDirectory());
+        List<byte[]> logins = new ArrayList<>();
+        for (int i = 0; i < Math.min(students, 1024); i++) {
+            int student = (int) ((long) i * students / Math.min(students, 1024));
+            logins.add((DataGenerator.studentID(student) + "\n" + DataGenerator.PASSWORD + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        runner.run("LoginManager.searchUserList", i -> {
+            boolean[] found = new boolean[1];
+            withInput(logins.get((int) (i % logins.size())), () -> found[0] = loginManager.searchUserList(studentDirectory));
+            if (!found[0]) {
+                throw new IllegalStateException("Generated student could not log in");
+            }
+            return found;
+        });
+    }
+
+    /**
+     * Run an action with System.in reading the given input and System.out
+     * discarded.
+     *
+     * @param input  The input of the action.
+     * @param action The action.
+     */
+    private static void withInput(String input, Runnable action) {
+        withInput(input.getBytes(StandardCharsets.UTF_8), action);
+    }
+
+    private static void withInput(byte[] input, Runnable action) {
+        SessionIO.bind(new ByteArrayInputStream(input), OutputStream.nullOutputStream());
+        try {
+            action.run();
+        } finally {
+            SessionIO.unbind();
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package bench;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import camp.Camp;
+import camp.CampManager;
+import camp.CampSaver;
+
+/**
+ * Stress test of joining and quitting camps from many threads at once.
+ * Every thread joins, quits, waits for and leaves random camps as random
+ * students, on a few small camps spread over a few dates so that the threads
+ * keep contending for the same slots and students. Afterwards every camp and
+ * student is checked: no camp may have handed out more slots than it has, no
+ * student may be registered for two camps on the same date or be a committee
+ * member of two camps, and the indexes must agree with the camps.
+ * Exits with status 1 if any check fails.
+ * The camps are saved in the working directory, so run this from an empty
+ * directory, eg
+ * java -cp bin bench.CampStress --threads 64 --operations 20000
+ *
+ * Options: --camps N, --students N, --dates N, --slots N (per camp),
+ * --commit-slots N (per camp), --threads N, --operations N (per thread),
+ * --seed N, --overwrite (replace the data files in the working directory)
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class CampStress {
+    private int camps = 40;
+    private int students = 400;
+    private int dates = 8;
+    private int slots = 5;
+    private int commitSlots = 1;
+    private int threads = 64;
+    private int operations = 20000;
+    private long seed = 2023;
+    private boolean overwrite = false;
+
+    // Date of the first camp, the others follow one day apart
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+
+    private final AtomicLong joined = new AtomicLong();
+    private final AtomicLong quitted = new AtomicLong();
+    private final AtomicLong waited = new AtomicLong();
+    private final List<String> violations = new ArrayList<>();
+
+    /**
+     * Create the camps, run the threads and check the camps.
+     *
+     * @param args The options, see the class description.
+     * @throws Exception If a thread fails.
+     */
+    public static void main(String[] args) throws Exception {
+        CampStress stress = new CampStress();
+        if (!stress.parse(args)) {
+            System.out.println("Usage: CampStress [--camps N] [--students N] [--dates N] [--slots N]"
+                    + " [--commit-slots N] [--threads N] [--operations N] [--seed N] [--overwrite]");
+            System.exit(2);
+        }
+        if (new File("System/camps.txt").exists() && !stress.overwrite) {
+            System.out.println("The working directory already holds CAMs data, run from an empty directory"
+                    + " or pass --overwrite to replace it");
+            System.exit(2);
+        }
+        if (!stress.run()) {
+            System.exit(1);
+        }
+    }
+
+    private boolean parse(String[] args) {
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--camps":
+                        camps = Integer.parseInt(args[++i]);
+                        break;
+                    case "--students":
+                        students = Integer.parseInt(args[++i]);
+                        break;
+                    case "--dates":
+                        dates = Integer.parseInt(args[++i]);
+                        break;
+                    case "--slots":
+                        slots = Integer.parseInt(args[++i]);
+                        break;
+                    case "--commit-slots":
+                        commitSlots = Integer.parseInt(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--operations":
+                        operations = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    case "--overwrite":
+                        overwrite = true;
+                        break;
+                    default:
+                        return false;
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return false;
+        }
+        return camps > 0 && students > 0 && dates > 0 && slots > 0 && commitSlots >= 0 && threads > 0
+                && operations >= 0;
+    }
+
+    /**
+     * Run the threads and check the camps.
+     *
+     * @return True if every check passed.
+     * @throws Exception If a thread fails.
+     */
+    private boolean run() throws Exception {
+        TreeMap<String, Camp> campMap = new TreeMap<>();
+        for (int i = 0; i < camps; i++) {
+            LocalDate date = FIRST_DATE.plusDays(i % dates);
+            Camp camp = new Camp(campName(i), date, date.minusDays(7), "NTU", "LT1", slots, commitSlots,
+                    "Stress camp " + i, "STAFF0");
+            camp.setVisible(true);
+            campMap.put(camp.getName(), camp);
+        }
+        CampSaver.saveCamps(campMap);
+        CampManager campManager = CampManager.getInstance();
+
+        System.out.printf("Running %d threads of %d operations on %d camps of %d slots, %d students, %d dates%n",
+                threads, operations, camps, slots, students, dates);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(seed + t);
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < operations; i++) {
+                        operate(campManager, random);
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }, "CAMs-stress-" + t);
+            worker.start();
+            workers.add(worker);
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - began;
+        System.out.printf("%d joins, %d quits, %d waitlist joins in %d ms%n", joined.get(), quitted.get(),
+                waited.get(), elapsed / 1_000_000);
+        for (Throwable failure : failures) {
+            failure.printStackTrace();
+        }
+
+        check(campManager);
+        for (String violation : violations) {
+            System.out.println(violation);
+        }
+        System.out.println(violations.isEmpty() && failures.isEmpty() ? "PASSED"
+                : "FAILED: " + violations.size() + " violations, " + failures.size() + " failed threads");
+        return violations.isEmpty() && failures.isEmpty();
+    }
+
+    /**
+     * Do one random operation as a random student on a random camp.
+     */
+    private void operate(CampManager campManager, Random random) {
+        String name = campName(random.nextInt(camps));
+        String studentID = studentID(random.nextInt(students));
+        int operation = random.nextInt(10);
+        if (operation < 4) {
+            if (campManager.joinCamp(name, studentID, false, false, camp -> true).isSuccess()) {
+                joined.incrementAndGet();
+            }
+        } else if (operation < 5) {
+            if (campManager.joinCamp(name, studentID, true, false, camp -> true).isSuccess()) {
+                joined.incrementAndGet();
+            }
+        } else if (operation < 8) {
+            if (campManager.quitCamp(name, studentID, camp -> true).isSuccess()) {
+                quitted.incrementAndGet();
+            }
+        } else if (operation < 9) {
+            if (campManager.joinWaitList(name, studentID, camp -> true).isSuccess()) {
+                waited.incrementAndGet();
+            }
+        } else {
+            campManager.leaveWaitList(name, studentID);
+        }
+    }
+
+    /**
+     * Check the slots of every camp and the camps of every student.
+     */
+    private void check(CampManager campManager) {
+        Map<String, List<Camp>> campsOfStudent = new HashMap<>();
+        Map<String, List<Camp>> waitedByStudent = new HashMap<>();
+        for (Camp camp : campManager.getCampList(camp -> true)) {
+            Set<String> registered = camp.getStudentList();
+            Set<String> committee = new HashSet<>();
+            for (String studentID : registered) {
+                if (camp.hasCommitMember(studentID)) {
+                    committee.add(studentID);
+                }
+            }
+            if (camp.getRemainingSlots() < 0 || registered.size() + camp.getRemainingSlots() != slots) {
+                violation("Camp %s over-allocated: %d registered, %d slots left of %d", camp.getName(),
+                        registered.size(), camp.getRemainingSlots(), slots);
+            }
+            if (camp.getRemainingCommitSlots() < 0
+                    || committee.size() + camp.getRemainingCommitSlots() != commitSlots) {
+                violation("Camp %s over-allocated committee: %d members, %d slots left of %d", camp.getName(),
+                        committee.size(), camp.getRemainingCommitSlots(), commitSlots);
+            }
+            if (!registered.containsAll(committee)) {
+                violation("Camp %s has committee members not registered", camp.getName());
+            }
+            for (String studentID : registered) {
+                campsOfStudent.computeIfAbsent(studentID, id -> new ArrayList<>()).add(camp);
+            }
+            for (String studentID : camp.getWaitList()) {
+                if (registered.contains(studentID)) {
+                    violation("Student %s is both registered and waiting for camp %s", studentID, camp.getName());
+                }
+                waitedByStudent.computeIfAbsent(studentID, id -> new ArrayList<>()).add(camp);
+            }
+        }
+        for (int i = 0; i < students; i++) {
+            String studentID = studentID(i);
+            List<Camp> joinedCamps = campsOfStudent.getOrDefault(studentID, new ArrayList<>());
+            Set<LocalDate> joinedDates = new HashSet<>();
+            int committees = 0;
+            for (Camp camp : joinedCamps) {
+                if (!joinedDates.add(camp.getDate())) {
+                    violation("Student %s double-booked on %s", studentID, camp.getDate());
+                }
+                if (camp.hasCommitMember(studentID)) {
+                    committees++;
+                }
+            }
+            if (committees > 1) {
+                violation("Student %s is a committee member of %d camps", studentID, committees);
+            }
+            if (!new HashSet<>(campManager.getStudentCampList(studentID, camp -> true))
+                    .equals(new HashSet<>(joinedCamps))) {
+                violation("Index of the camps of student %s disagrees with the camps", studentID);
+            }
+            if (!new HashSet<>(campManager.getWaitListedCamps(studentID))
+                    .equals(new HashSet<>(waitedByStudent.getOrDefault(studentID, new ArrayList<>())))) {
+                violation("Index of the waitlists of student %s disagrees with the camps", studentID);
+            }
+        }
+    }
+
+    private static String campName(int index) {
+        return String.format("Stress %03d", index);
+    }
+
+    private static String studentID(int index) {
+        return String.format("S%05d", index);
+    }
+
+    private void violation(String format, Object... args) {
+        violations.add(String.format(format, args));
+    }
+}
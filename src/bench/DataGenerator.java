@@ -0,0 +1,178 @@
+package bench;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import camp.Camp;
+import camp.CampSaver;
+import enquiry.Enquiry;
+import enquiry.EnquiryTextDB;
+import login.CredentialStore;
+import suggestion.Suggestion;
+import suggestion.SuggestionTextDB;
+import user.Staff;
+import user.StaffTextDB;
+import user.Student;
+import user.StudentTextDB;
+
+/**
+ * DataGenerator creates synthetic students, staff, camps and enquiries for
+ * benchmarks, and writes them to the files the managers load from.
+ * The number of each can be scaled independently, and the same seed always
+ * generates the same data.
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class DataGenerator {
+    public static final String[] FACULTIES = { "SCSE", "EEE", "NBS", "ADM", "MAE", "SPMS", "SSS" };
+    public static final String[] LOCATIONS = { "LT1", "LT2", "LT19", "TR+12", "The Hive", "North Spine Plaza",
+            "South Spine Plaza", "Sports Hall" };
+    public static final String[] TOPICS = { "Leadership", "Orientation", "Coding", "Robotics", "Photography",
+            "Debate", "Volunteering", "Sustainability", "Music", "Entrepreneurship" };
+    public static final String[] QUESTIONS = { "What time does the camp start", "Is lunch provided",
+            "Do I need to bring a laptop", "Where do we meet on the first day", "Can I bring a friend",
+            "Is there a dress code", "Will there be transport back to hall", "How many people per group" };
+    public static final LocalDate FIRST_CAMP_DATE = LocalDate.of(2024, 1, 1);
+    public static final String PASSWORD = "password";
+
+    private final Random random;
+    // hashing is slow on purpose, every generated user shares the hash of PASSWORD
+    private final String passwordHash = CredentialStore.hashPassword(PASSWORD);
+
+    /**
+     * Constructor to initialize a DataGenerator.
+     *
+     * @param seed The seed of the random data.
+     */
+    public DataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Get the ID of a generated student.
+     *
+     * @param index The index of the student.
+     * @return The ID of the student.
+     */
+    public static String studentID(int index) {
+        return String.format("STU%07d", index);
+    }
+
+    /**
+     * Get the ID of a generated staff.
+     *
+     * @param index The index of the staff.
+     * @return The ID of the staff.
+     */
+    public static String staffID(int index) {
+        return String.format("STAFF%05d", index);
+    }
+
+    /**
+     * Get the name of a generated camp.
+     *
+     * @param index The index of the camp.
+     * @return The name of the camp.
+     */
+    public static String campName(int index) {
+        return String.format("Camp %06d", index);
+    }
+
+    /**
+     * Generate students, none of them registered for a camp.
+     *
+     * @param count The number of students.
+     * @return The students generated.
+     */
+    public List<Student> students(int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(new Student(studentID(i), "STUDENT " + i, pick(FACULTIES), passwordHash, "NO_CAMP", 0));
+        }
+        return students;
+    }
+
+    /**
+     * Generate staff.
+     *
+     * @param count The number of staff.
+     * @return The staff generated.
+     */
+    public List<Staff> staffs(int count) {
+        List<Staff> staffs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            staffs.add(new Staff(staffID(i), "STAFF " + i, pick(FACULTIES), passwordHash));
+        }
+        return staffs;
+    }
+
+    /**
+     * Generate visible camps without students.
+     * Camps are spread over a number of days proportional to their number, so
+     * some camps share a date and joining them clashes.
+     *
+     * @param count      The number of camps.
+     * @param staffCount The number of staff creating the camps.
+     * @return The camps generated, keyed by name.
+     */
+    public TreeMap<String, Camp> camps(int count, int staffCount) {
+        TreeMap<String, Camp> camps = new TreeMap<>();
+        int days = Math.max(1, count / 2);
+        for (int i = 0; i < count; i++) {
+            LocalDate date = FIRST_CAMP_DATE.plusDays(random.nextInt(days));
+            String faculty = random.nextInt(4) == 0 ? "NTU" : pick(FACULTIES);
+            Camp camp = new Camp(campName(i), date, date.minusDays(7), faculty, pick(LOCATIONS),
+                    100 + random.nextInt(900), 10, pick(TOPICS) + " camp " + i + " at " + pick(LOCATIONS), staffID(random.nextInt(staffCount)));
+            camp.setVisible(true);
+            camps.put(camp.getName(), camp);
+        }
+        return camps;
+    }
+
+    /**
+     * Generate enquiries spread over the camps, about a quarter of them replied.
+     *
+     * @param count        The number of enquiries.
+     * @param campCount    The number of camps generated.
+     * @param studentCount The number of students generated.
+     * @return The enquiries generated.
+     */
+    public List<Enquiry> enquiries(int count, int campCount, int studentCount) {
+        List<Enquiry> enquiries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String reply = random.nextInt(4) == 0 ? "Reply to enquiry " + i : Enquiry.NO_REPLY;
+            int student = random.nextInt(studentCount);
+            enquiries.add(new Enquiry(i, campName(random.nextInt(campCount)),
+                    pick(QUESTIONS) + (random.nextBoolean() ? "?" : " for the camp?"),
+                    reply, "STUDENT " + student, studentID(student)));
+        }
+        return enquiries;
+    }
+
+    /**
+     * Generate all data and write it to the files in the working directory.
+     *
+     * @param campCount    The number of camps.
+     * @param studentCount The number of students.
+     * @param staffCount   The number of staff.
+     * @param enquiryCount The number of enquiries.
+     * @throws IOException If an error occurs when writing.
+     */
+    public void writeAll(int campCount, int studentCount, int staffCount, int enquiryCount) throws IOException {
+        StudentTextDB.saveStudents("students.txt", students(studentCount));
+        StaffTextDB.saveStaffs("staffs.txt", staffs(staffCount));
+        CampSaver.saveCamps(camps(campCount, staffCount));
+        EnquiryTextDB.saveEnquiries("enquiries.txt", enquiries(enquiryCount, campCount, studentCount));
+        SuggestionTextDB.saveSuggestions("suggestions.txt", new ArrayList<Suggestion>());
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -1,350 +1,693 @@
-package camp;
-
-import utils.OperationResult;
-
-import java.io.Serializable;
-import java.time.LocalDate;
-import java.util.HashSet;
-
-/**
- * Camp class represents a camp event.
- * It stores information about the camp, such as its name, date, location, and available slots.
- * Camps can have student participants and committee members.
- * Serializable to enable object serialization.
- * @author group1
- * @version 1.0
- * @since 24 nov 2023
- */
-public class Camp implements Serializable {
-    private static final long serialVersionUID = 1L;
-
-    // Camp properties
-    private String name;
-    private LocalDate date;
-    private LocalDate closureDate;
-    private boolean visible;
-    private String faculty;
-    private String location;
-    private int remainingSlots;
-    private int remainingCommitSlots;
-    private final String creator;
-    private HashSet<String> studentList;
-    private HashSet<String> commitList;
-    private HashSet<String> exitStudentList;
-    private String description;
-
-    /**
-     * Constructor to initialize a Camp object.
-     *
-     * @param name          Name of the camp.
-     * @param date          Date of the camp.
-     * @param closureDate   Closure date of the camp.
-     * @param faculty       Faculty the camp open to.
-     * @param location      Location of the camp.
-     * @param totalSlots    Total slots for students.
-     * @param commitSlot    Slots for committee members.
-     * @param description   Description of the camp.
-     * @param staffID       Staff ID of the camp creator.
-     */
-    public Camp(String name, LocalDate date, LocalDate closureDate, String faculty, String location, int totalSlots,
-                int commitSlot, String description, String staffID) {
-        this.name = name;
-        this.date = date;
-        this.closureDate = closureDate;
-        this.visible = true;
-        this.faculty = faculty;
-        this.location = location;
-        this.remainingSlots = totalSlots;
-        this.remainingCommitSlots = commitSlot;
-        this.description = description;
-        this.creator = staffID;
-        this.studentList = new HashSet<>();
-        this.commitList = new HashSet<>();
-        this.exitStudentList = new HashSet<>();
-    }
-
-    // Getter methods
-
-    /**
-     * Get the name of the camp.
-     *
-     * @return The name of the camp.
-     */
-    public String getName() {
-        return name;
-    }
-
-    /**
-     * Get the date of the camp.
-     *
-     * @return The date of the camp.
-     */
-    public LocalDate getDate() {
-        return date;
-    }
-
-    /**
-     * Get the registration closure date of the camp.
-     *
-     * @return The registration closure date of the camp.
-     */
-    public LocalDate getClosureDate() {
-        return closureDate;
-    }
-
-    /**
-     * Check if the camp is visible to student.
-     *
-     * @return True if the camp is visible to student; otherwise, false.
-     */
-    public boolean isVisible() {
-        return visible;
-    }
-
-    /**
-     * Get the faculty the camp open to, NTU if it opens to all faculty.
-     *
-     * @return The faculty the camp open to.
-     */
-    public String getFaculty() {
-        return faculty;
-    }
-
-    /**
-     * Get the location of the camp.
-     *
-     * @return The location of the camp.
-     */
-    public String getLocation() {
-        return location;
-    }
-
-    /**
-     * Get the remaining available slots for students.
-     *
-     * @return The remaining student slots.
-     */
-    public int getRemainingSlots() {
-        return remainingSlots;
-    }
-
-    /**
-     * Get the remaining available slots for committee members.
-     *
-     * @return The remaining committee slots.
-     */
-    public int getRemainingCommitSlots() {
-        return remainingCommitSlots;
-    }
-
-    /**
-     * Get the description of the camp.
-     *
-     * @return The description of the camp.
-     */
-    public String getDescription() {
-        return description;
-    }
-
-    /**
-     * Get the creator (staff ID) of the camp.
-     *
-     * @return The staff ID of the camp creator.
-     */
-    public String getCreator() {
-        return this.creator;
-    }
-
-    // Setter methods
-
-    /**
-     * Set the name of the camp.
-     *
-     * @param name The new name of the camp.
-     */
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    /**
-     * Set the date of the camp.
-     *
-     * @param date The new date of the camp.
-     */
-    public void setDate(LocalDate date) {
-        this.date = date;
-    }
-
-    /**
-     * Set the registration closure date of the camp.
-     *
-     * @param closureDate The new registration closure date of the camp.
-     */
-    public void setClosureDate(LocalDate closureDate) {
-        this.closureDate = closureDate;
-    }
-
-    /**
-     * Set the visibility of the camp.
-     *
-     * @param visible True to make the camp visible to student; otherwise, false.
-     */
-    public void setVisible(boolean visible) {
-        this.visible = visible;
-    }
-
-    /**
-     * Set the faculty of the camp open to, NTU for open to all faculty.
-     *
-     * @param faculty The new faculty of the camp.
-     */
-    public void setFaculty(String faculty) {
-        this.faculty = faculty;
-    }
-
-    /**
-     * Set the location of the camp.
-     *
-     * @param location The new location of the camp.
-     */
-    public void setLocation(String location) {
-        this.location = location;
-    }
-
-    /**
-     * Set the remaining available slots for students.
-     *
-     * @param remainingSlots The new remaining student slots.
-     */
-    public void setRemainingSlots(int remainingSlots) {
-        this.remainingSlots = remainingSlots;
-    }
-
-    /**
-     * Set the remaining available slots for committee members.
-     *
-     * @param remainingCommitSlots The new remaining committee slots.
-     */
-    public void setRemainingCommitSlots(int remainingCommitSlots) {
-        this.remainingCommitSlots = remainingCommitSlots;
-    }
-
-    /**
-     * Set the description of the camp.
-     *
-     * @param description The new description of the camp.
-     */
-    public void setDescription(String description) {
-        this.description = description;
-    }
-
-    // Camp operations
-
-    /**
-     * Add a student to the camp and minus 1 slot.
-     * if camp already has this student, fail
-     * if camp have no more slot, fail
-     * if student had exited camp before, fail
-     *
-     * @param studentID The ID of the student to add.
-     * @return An OperationResult indicating the success or failure of the operation.
-     */
-    public OperationResult addStudent(String studentID) {
-        if (this.hasStudent(studentID)) {
-            return OperationResult.failure("Student is already registered for the camp");
-        }
-        if (remainingSlots <= 0) {
-            return OperationResult.failure("Not enough available slots for students");
-        }
-        if (exitStudentList.contains(studentID)) {
-            return OperationResult.failure("Cannot rejoin the camp after exiting");
-        }
-        studentList.add(studentID);
-        remainingSlots--;
-        return OperationResult.success();
-    }
-
-    /**
-     * Add a student as a committee member to the camp.
-     * Both add into commit list and member list
-     *
-     * @param studentID The ID of the student to add as a committee member.
-     * @return An OperationResult indicating the success or failure of the operation.
-     */
-    public OperationResult addCommitMember(String studentID) {
-        if (this.hasStudent(studentID)) {
-            return OperationResult.failure("Student is already registered for the camp");
-        }
-        if (remainingSlots <= 0) {
-            return OperationResult.failure("Not enough available slots for students");
-        }
-        if (remainingCommitSlots <= 0) {
-            return OperationResult.failure("Not enough available slots for committee members");
-        }
-        if (exitStudentList.contains(studentID)) {
-            return OperationResult.failure("Cannot rejoin the camp after exiting");
-        }
-        studentList.add(studentID);
-        commitList.add(studentID);
-        remainingSlots--;
-        remainingCommitSlots--;
-        return OperationResult.success();
-    }
-
-    /**
-     * Check if a student is registered for the camp.
-     *
-     * @param studentID The ID of the student to check.
-     * @return True if the student is registered; otherwise, false.
-     */
-    public boolean hasStudent(String studentID) {
-        return studentList.contains(studentID);
-    }
-
-    /**
-     * Check if a student is a committee member of the camp.
-     *
-     * @param studentID The ID of the student to check.
-     * @return True if the student is a committee member; otherwise, false.
-     */
-    public boolean hasCommitMember(String studentID) {
-        return commitList.contains(studentID);
-    }
-
-    /**
-     * Remove a student from the camp.
-     * Cannot remove commit member
-     *
-     * @param studentID The ID of the student to remove.
-     * @return An OperationResult indicating the success or failure of the operation.
-     */
-    public OperationResult removeStudent(String studentID) {
-        if (!this.hasStudent(studentID))
-            return OperationResult.failure("Student is not registered for the camp");
-        if (hasCommitMember(studentID)) {
-            return OperationResult.failure("Cannot quit the camp as a committee member");
-        }
-        studentList.remove(studentID);
-        exitStudentList.add(studentID);
-        remainingSlots++;
-        return OperationResult.success();
-    }
-
-    /**
-     * Check if there are no students registered for the camp.
-     *
-     * @return True if there are no students registered; otherwise, false.
-     */
-    public boolean hasNoStudent() {
-        return studentList.isEmpty();
-    }
-
-    /**
-     * Get the list of students registered for the camp.
-     *
-     * @return A HashSet containing the IDs of registered students.
-     */
-    public HashSet<String> getStudentList() {
-        return studentList;
-    }
+package camp;
+
+import utils.OperationResult;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Camp class represents a camp event.
+ * It stores information about the camp, such as its name, date, location, and available slots.
+ * Camps can have student participants and committee members.
+ * Serializable to enable object serialization.
+ * Camp operations and accessors are synchronized, so slots cannot be
+ * oversubscribed when students join concurrently.
+ * Students may wait for a slot of a full camp in a first come first served
+ * waitlist of limited capacity. While students are waiting, freed slots are
+ * kept for them and CampManager promotes them in order.
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class Camp implements Serializable {
+    private static final long serialVersionUID = 1L;
+    // Number of students who may wait for a slot, unless set otherwise
+    public static final int DEFAULT_WAITLIST_CAPACITY = 20;
+
+    // Camp properties
+    private String name;
+    private LocalDate date;
+    private LocalDate closureDate;
+    private boolean visible;
+    private String faculty;
+    private String location;
+    private int remainingSlots;
+    private int remainingCommitSlots;
+    private final String creator;
+    private HashSet<String> studentList;
+    private HashSet<String> commitList;
+    private HashSet<String> exitStudentList;
+    private String description;
+    // IDs of students waiting for a slot, in order of arrival
+    private LinkedHashSet<String> waitList;
+    private int waitListCapacity;
+    // Notified of changes so that CampManager can keep its indexes up to date
+    private transient CampListener listener;
+
+    /**
+     * Constructor to initialize a Camp object.
+     *
+     * @param name          Name of the camp.
+     * @param date          Date of the camp.
+     * @param closureDate   Closure date of the camp.
+     * @param faculty       Faculty the camp open to.
+     * @param location      Location of the camp.
+     * @param totalSlots    Total slots for students.
+     * @param commitSlot    Slots for committee members.
+     * @param description   Description of the camp.
+     * @param staffID       Staff ID of the camp creator.
+     */
+    public Camp(String name, LocalDate date, LocalDate closureDate, String faculty, String location, int totalSlots,
+                int commitSlot, String description, String staffID) {
+        this.name = name;
+        this.date = date;
+        this.closureDate = closureDate;
+        this.visible = true;
+        this.faculty = faculty;
+        this.location = location;
+        this.remainingSlots = totalSlots;
+        this.remainingCommitSlots = commitSlot;
+        this.description = description;
+        this.creator = staffID;
+        this.studentList = new HashSet<>();
+        this.commitList = new HashSet<>();
+        this.exitStudentList = new HashSet<>();
+        this.waitList = new LinkedHashSet<>();
+        this.waitListCapacity = DEFAULT_WAITLIST_CAPACITY;
+    }
+
+    // Getter methods
+
+    /**
+     * Get the name of the camp.
+     *
+     * @return The name of the camp.
+     */
+    public synchronized String getName() {
+        return name;
+    }
+
+    /**
+     * Get the date of the camp.
+     *
+     * @return The date of the camp.
+     */
+    public synchronized LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Get the registration closure date of the camp.
+     *
+     * @return The registration closure date of the camp.
+     */
+    public synchronized LocalDate getClosureDate() {
+        return closureDate;
+    }
+
+    /**
+     * Check if the camp is visible to student.
+     *
+     * @return True if the camp is visible to student; otherwise, false.
+     */
+    public synchronized boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Get the faculty the camp open to, NTU if it opens to all faculty.
+     *
+     * @return The faculty the camp open to.
+     */
+    public synchronized String getFaculty() {
+        return faculty;
+    }
+
+    /**
+     * Get the location of the camp.
+     *
+     * @return The location of the camp.
+     */
+    public synchronized String getLocation() {
+        return location;
+    }
+
+    /**
+     * Get the remaining available slots for students.
+     *
+     * @return The remaining student slots.
+     */
+    public synchronized int getRemainingSlots() {
+        return remainingSlots;
+    }
+
+    /**
+     * Get the remaining available slots for committee members.
+     *
+     * @return The remaining committee slots.
+     */
+    public synchronized int getRemainingCommitSlots() {
+        return remainingCommitSlots;
+    }
+
+    /**
+     * Get the description of the camp.
+     *
+     * @return The description of the camp.
+     */
+    public synchronized String getDescription() {
+        return description;
+    }
+
+    /**
+     * Get the creator (staff ID) of the camp.
+     *
+     * @return The staff ID of the camp creator.
+     */
+    public String getCreator() {
+        return this.creator;
+    }
+
+    // Setter methods
+
+    /**
+     * Set the name of the camp.
+     *
+     * @param name The new name of the camp.
+     */
+    public synchronized void setName(String name) {
+        String oldName = this.name;
+        this.name = name;
+        if (listener != null && !name.equals(oldName)) {
+            listener.nameChanged(this, oldName);
+        }
+        changed();
+    }
+
+    /**
+     * Set the date of the camp.
+     *
+     * @param date The new date of the camp.
+     */
+    public synchronized void setDate(LocalDate date) {
+        LocalDate oldDate = this.date;
+        this.date = date;
+        if (listener != null && !date.equals(oldDate)) {
+            listener.dateChanged(this, oldDate);
+        }
+        changed();
+    }
+
+    /**
+     * Set the registration closure date of the camp.
+     *
+     * @param closureDate The new registration closure date of the camp.
+     */
+    public synchronized void setClosureDate(LocalDate closureDate) {
+        LocalDate oldClosureDate = this.closureDate;
+        this.closureDate = closureDate;
+        if (listener != null && !closureDate.equals(oldClosureDate)) {
+            listener.closureDateChanged(this, oldClosureDate);
+        }
+        changed();
+    }
+
+    /**
+     * Set the visibility of the camp.
+     *
+     * @param visible True to make the camp visible to student; otherwise, false.
+     */
+    public synchronized void setVisible(boolean visible) {
+        this.visible = visible;
+        changed();
+    }
+
+    /**
+     * Set the faculty of the camp open to, NTU for open to all faculty.
+     *
+     * @param faculty The new faculty of the camp.
+     */
+    public synchronized void setFaculty(String faculty) {
+        String oldFaculty = this.faculty;
+        this.faculty = faculty;
+        if (listener != null && !faculty.equals(oldFaculty)) {
+            listener.facultyChanged(this, oldFaculty);
+        }
+        changed();
+    }
+
+    /**
+     * Set the location of the camp.
+     *
+     * @param location The new location of the camp.
+     */
+    public synchronized void setLocation(String location) {
+        String oldLocation = this.location;
+        this.location = location;
+        if (listener != null && !location.equals(oldLocation)) {
+            listener.locationChanged(this, oldLocation);
+        }
+        changed();
+    }
+
+    /**
+     * Set the remaining available slots for students.
+     *
+     * @param remainingSlots The new remaining student slots.
+     */
+    public synchronized void setRemainingSlots(int remainingSlots) {
+        this.remainingSlots = remainingSlots;
+        changed();
+    }
+
+    /**
+     * Set the remaining available slots for committee members.
+     *
+     * @param remainingCommitSlots The new remaining committee slots.
+     */
+    public synchronized void setRemainingCommitSlots(int remainingCommitSlots) {
+        this.remainingCommitSlots = remainingCommitSlots;
+        changed();
+    }
+
+    /**
+     * Set the description of the camp.
+     *
+     * @param description The new description of the camp.
+     */
+    public synchronized void setDescription(String description) {
+        String oldDescription = this.description;
+        this.description = description;
+        if (listener != null && !description.equals(oldDescription)) {
+            listener.descriptionChanged(this, oldDescription);
+        }
+        changed();
+    }
+
+    /**
+     * Set the listener notified when the camp changes.
+     *
+     * @param listener The listener, or null to stop notifying.
+     */
+    synchronized void setListener(CampListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Notify the listener that the camp has changed and needs to be saved.
+     */
+    private void changed() {
+        if (listener != null) {
+            listener.campChanged(this);
+        }
+    }
+
+    // Camp operations
+
+    /**
+     * Add a student to the camp and minus 1 slot.
+     * if camp already has this student, fail
+     * if camp have no more slot, fail
+     * if student had exited camp before, fail
+     *
+     * @param studentID The ID of the student to add.
+     * @return An OperationResult indicating the success or failure of the operation.
+     */
+    public synchronized OperationResult addStudent(String studentID) {
+        if (this.hasStudent(studentID)) {
+            return OperationResult.failure("Student is already registered for the camp");
+        }
+        if (remainingSlots <= 0) {
+            return OperationResult.failure("Not enough available slots for students");
+        }
+        if (!waitList.isEmpty()) {
+            return OperationResult.failure("The free slots are kept for the students on the waitlist");
+        }
+        if (exitStudentList.contains(studentID)) {
+            return OperationResult.failure("Cannot rejoin the camp after exiting");
+        }
+        studentList.add(studentID);
+        remainingSlots--;
+        if (listener != null) {
+            listener.studentAdded(this, studentID);
+        }
+        changed();
+        return OperationResult.success();
+    }
+
+    /**
+     * Add a student as a committee member to the camp.
+     * Both add into commit list and member list
+     *
+     * @param studentID The ID of the student to add as a committee member.
+     * @return An OperationResult indicating the success or failure of the operation.
+     */
+    public synchronized OperationResult addCommitMember(String studentID) {
+        if (this.hasStudent(studentID)) {
+            return OperationResult.failure("Student is already registered for the camp");
+        }
+        if (remainingSlots <= 0) {
+            return OperationResult.failure("Not enough available slots for students");
+        }
+        if (remainingCommitSlots <= 0) {
+            return OperationResult.failure("Not enough available slots for committee members");
+        }
+        if (!waitList.isEmpty()) {
+            return OperationResult.failure("The free slots are kept for the students on the waitlist");
+        }
+        if (exitStudentList.contains(studentID)) {
+            return OperationResult.failure("Cannot rejoin the camp after exiting");
+        }
+        studentList.add(studentID);
+        commitList.add(studentID);
+        remainingSlots--;
+        remainingCommitSlots--;
+        if (listener != null) {
+            listener.studentAdded(this, studentID);
+        }
+        changed();
+        return OperationResult.success();
+    }
+
+    /**
+     * Check if a student is registered for the camp.
+     *
+     * @param studentID The ID of the student to check.
+     * @return True if the student is registered; otherwise, false.
+     */
+    public synchronized boolean hasStudent(String studentID) {
+        return studentList.contains(studentID);
+    }
+
+    /**
+     * Check if a student is a committee member of the camp.
+     *
+     * @param studentID The ID of the student to check.
+     * @return True if the student is a committee member; otherwise, false.
+     */
+    public synchronized boolean hasCommitMember(String studentID) {
+        return commitList.contains(studentID);
+    }
+
+    /**
+     * Remove a student from the camp.
+     * Cannot remove commit member
+     *
+     * @param studentID The ID of the student to remove.
+     * @return An OperationResult indicating the success or failure of the operation.
+     */
+    public synchronized OperationResult removeStudent(String studentID) {
+        if (!this.hasStudent(studentID))
+            return OperationResult.failure("Student is not registered for the camp");
+        if (hasCommitMember(studentID)) {
+            return OperationResult.failure("Cannot quit the camp as a committee member");
+        }
+        studentList.remove(studentID);
+        exitStudentList.add(studentID);
+        remainingSlots++;
+        if (listener != null) {
+            listener.studentRemoved(this, studentID);
+        }
+        changed();
+        return OperationResult.success();
+    }
+
+    /**
+     * Add a student to the end of the waitlist of a full camp.
+     * if the student is registered or already waiting, fail
+     * if the camp still has a slot, fail, the student should register instead
+     * if student had exited camp before, fail
+     * if the waitlist is full, fail
+     *
+     * @param studentID The ID of the student to add.
+     * @return An OperationResult indicating the success or failure of the operation.
+     */
+    public synchronized OperationResult addToWaitList(String studentID) {
+        if (this.hasStudent(studentID)) {
+            return OperationResult.failure("Student is already registered for the camp");
+        }
+        if (waitList.contains(studentID)) {
+            return OperationResult.failure("Student is already on the waitlist of the camp");
+        }
+        if (remainingSlots > 0 && waitList.isEmpty()) {
+            return OperationResult.failure("The camp still has slots, register for it instead");
+        }
+        if (exitStudentList.contains(studentID)) {
+            return OperationResult.failure("Cannot rejoin the camp after exiting");
+        }
+        if (waitList.size() >= waitListCapacity) {
+            return OperationResult.failure("The waitlist of the camp is full");
+        }
+        waitList.add(studentID);
+        if (listener != null) {
+            listener.waitListAdded(this, studentID);
+        }
+        changed();
+        return OperationResult.success();
+    }
+
+    /**
+     * Remove a student from the waitlist.
+     *
+     * @param studentID The ID of the student to remove.
+     * @return An OperationResult indicating the success or failure of the operation.
+     */
+    public synchronized OperationResult removeFromWaitList(String studentID) {
+        if (!waitList.remove(studentID)) {
+            return OperationResult.failure("Student is not on the waitlist of the camp");
+        }
+        if (listener != null) {
+            listener.waitListRemoved(this, studentID);
+        }
+        changed();
+        return OperationResult.success();
+    }
+
+    /**
+     * Check if a student is waiting for a slot.
+     *
+     * @param studentID The ID of the student to check.
+     * @return True if the student is on the waitlist; otherwise, false.
+     */
+    public synchronized boolean isOnWaitList(String studentID) {
+        return waitList.contains(studentID);
+    }
+
+    /**
+     * Get the position of a student on the waitlist, the waitlist is at most
+     * its capacity long.
+     *
+     * @param studentID The ID of the student.
+     * @return The position, 1 for the next student promoted, or -1 if the
+     *         student is not waiting.
+     */
+    public synchronized int getWaitListPosition(String studentID) {
+        if (!waitList.contains(studentID)) {
+            return -1;
+        }
+        int position = 1;
+        for (String waiting : waitList) {
+            if (waiting.equals(studentID)) {
+                break;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Get the students waiting for a slot.
+     *
+     * @return A copy of the IDs of the waiting students, in order.
+     */
+    public synchronized List<String> getWaitList() {
+        return new ArrayList<>(waitList);
+    }
+
+    /**
+     * Get the number of students who may wait for a slot.
+     *
+     * @return The capacity of the waitlist.
+     */
+    public synchronized int getWaitListCapacity() {
+        return waitListCapacity;
+    }
+
+    /**
+     * Set the number of students who may wait for a slot, the students already
+     * waiting beyond it keep their place.
+     *
+     * @param waitListCapacity The new capacity of the waitlist.
+     */
+    public synchronized void setWaitListCapacity(int waitListCapacity) {
+        this.waitListCapacity = waitListCapacity;
+        changed();
+    }
+
+    /**
+     * Get the student first on the waitlist.
+     *
+     * @return The ID of the student, or null if no student is waiting.
+     */
+    synchronized String peekWaitList() {
+        return waitList.isEmpty() ? null : waitList.iterator().next();
+    }
+
+    /**
+     * Register the student first on the waitlist in a free slot, in one step so
+     * no other student can take the slot in between.
+     * Called by CampManager while holding the lock of the student, after it
+     * checked the student has no camp on the same date.
+     *
+     * @param studentID The ID of the student expected first on the waitlist.
+     * @return An OperationResult indicating the success or failure of the operation.
+     */
+    synchronized OperationResult promoteFromWaitList(String studentID) {
+        if (!studentID.equals(peekWaitList())) {
+            return OperationResult.failure("Student is not first on the waitlist");
+        }
+        if (remainingSlots <= 0) {
+            return OperationResult.failure("Not enough available slots for students");
+        }
+        waitList.remove(studentID);
+        if (listener != null) {
+            listener.waitListRemoved(this, studentID);
+        }
+        if (exitStudentList.contains(studentID) || studentList.contains(studentID)) {
+            changed();
+            return OperationResult.failure("Cannot rejoin the camp after exiting");
+        }
+        studentList.add(studentID);
+        remainingSlots--;
+        if (listener != null) {
+            listener.studentAdded(this, studentID);
+        }
+        changed();
+        return OperationResult.success();
+    }
+
+    /**
+     * Check if there are no students registered for the camp.
+     *
+     * @return True if there are no students registered; otherwise, false.
+     */
+    public synchronized boolean hasNoStudent() {
+        return studentList.isEmpty();
+    }
+
+    /**
+     * Get the list of students registered for the camp.
+     *
+     * @return A copy of the HashSet containing the IDs of registered students.
+     */
+    public synchronized HashSet<String> getStudentList() {
+        return new HashSet<>(studentList);
+    }
+
+    /**
+     * Get the list of committee members of the camp.
+     *
+     * @return A copy of the HashSet containing the IDs of committee members.
+     */
+    public synchronized HashSet<String> getCommitMemberList() {
+        return new HashSet<>(commitList);
+    }
+
+    /**
+     * Get the IDs of registered students, for saving the camp.
+     *
+     * @return The HashSet of registered student IDs, to be read while holding the camp lock.
+     */
+    HashSet<String> getStudentSet() {
+        return studentList;
+    }
+
+    /**
+     * Get the IDs of committee members, for saving the camp.
+     *
+     * @return The HashSet of committee member IDs, to be read while holding the camp lock.
+     */
+    HashSet<String> getCommitList() {
+        return commitList;
+    }
+
+    /**
+     * Get the IDs of students who have exited the camp, for saving the camp.
+     *
+     * @return The HashSet of exited student IDs, to be read while holding the camp lock.
+     */
+    HashSet<String> getExitStudentList() {
+        return exitStudentList;
+    }
+
+    /**
+     * Get the IDs of students waiting for a slot, for saving the camp.
+     *
+     * @return The LinkedHashSet of waiting student IDs in order, to be read while holding the camp lock.
+     */
+    LinkedHashSet<String> getWaitListSet() {
+        return waitList;
+    }
+
+    /**
+     * Restore the students of a camp loaded from storage, without notifying the
+     * listener.
+     *
+     * @param studentIDs     The IDs of registered students.
+     * @param commitIDs      The IDs of committee members.
+     * @param exitStudentIDs The IDs of students who have exited the camp.
+     */
+    synchronized void restoreStudents(Collection<String> studentIDs, Collection<String> commitIDs,
+            Collection<String> exitStudentIDs) {
+        studentList = new HashSet<>(studentIDs);
+        commitList = new HashSet<>(commitIDs);
+        exitStudentList = new HashSet<>(exitStudentIDs);
+    }
+
+    /**
+     * Restore the waitlist of a camp loaded from storage, without notifying the
+     * listener.
+     *
+     * @param waitingIDs The IDs of waiting students, in order.
+     * @param capacity   The capacity of the waitlist.
+     */
+    synchronized void restoreWaitList(Collection<String> waitingIDs, int capacity) {
+        waitList = new LinkedHashSet<>(waitingIDs);
+        waitListCapacity = capacity;
+    }
+
+    /**
+     * Serialize the camp while holding its lock, so that a concurrent join or
+     * quit cannot change it half way.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If an error occurs when writing.
+     */
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+    }
+
+    /**
+     * Read the camp, camps serialized before they had a waitlist get an empty
+     * one.
+     *
+     * @param in The stream to read from.
+     * @throws IOException            If an error occurs when reading.
+     * @throws ClassNotFoundException If a class of the camp cannot be found.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (waitList == null) {
+            waitList = new LinkedHashSet<>();
+            waitListCapacity = DEFAULT_WAITLIST_CAPACITY;
+        }
+    }
 }
\ No newline at end of file
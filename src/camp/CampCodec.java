@@ -0,0 +1,319 @@
+package camp;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * CampCodec encodes camps in a compact, versioned binary format.
+ * All strings, including the student IDs shared between the student,
+ * committee and exit lists, are written once in a string table and referred
+ * to by index. Counts and indexes are varints and dates are epoch days.
+ *
+ * Layout: MAGIC, VERSION, string table, camp count, camps
+ * Camp: name, date, closure date, visible, faculty, location, remaining slots,
+ * remaining committee slots, creator, description, students, committee, exited,
+ * waitlist capacity and waitlist in order (since version 2)
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+final class CampCodec {
+    // "CAMS", distinguishes the format from Java serialization which starts with 0xACED
+    static final int MAGIC = 0x43414D53;
+    static final int VERSION = 2;
+
+    /**
+     * The state of a camp copied while holding its lock, with its strings
+     * replaced by their index in the string table.
+     */
+    private static class CampRecord {
+        private int name;
+        private LocalDate date;
+        private LocalDate closureDate;
+        private boolean visible;
+        private int faculty;
+        private int location;
+        private int remainingSlots;
+        private int remainingCommitSlots;
+        private int creator;
+        private int description;
+        private int[] studentList;
+        private int[] commitList;
+        private int[] exitStudentList;
+        private int waitListCapacity;
+        private int[] waitList;
+    }
+
+    /**
+     * Private constructor to prevent instantiation of CampCodec.
+     */
+    private CampCodec() {
+    }
+
+    /**
+     * Encode camps in the binary format.
+     *
+     * @param camps The camps to encode.
+     * @return The encoded camps.
+     */
+    static byte[] encode(Collection<Camp> camps) {
+        List<CampRecord> records = new ArrayList<>(camps.size());
+        Map<String, Integer> stringIndex = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (Camp camp : camps) {
+            records.add(snapshot(camp, stringIndex, strings));
+        }
+
+        Writer out = new Writer();
+        out.writeInt(MAGIC);
+        out.writeVarInt(VERSION);
+        out.writeVarInt(strings.size());
+        for (String string : strings) {
+            out.writeString(string);
+        }
+        out.writeVarInt(records.size());
+        for (CampRecord record : records) {
+            out.writeVarInt(record.name);
+            out.writeVarLong(zigZag(record.date.toEpochDay()));
+            out.writeVarLong(zigZag(record.closureDate.toEpochDay()));
+            out.writeVarInt(record.visible ? 1 : 0);
+            out.writeVarInt(record.faculty);
+            out.writeVarInt(record.location);
+            out.writeVarLong(zigZag(record.remainingSlots));
+            out.writeVarLong(zigZag(record.remainingCommitSlots));
+            out.writeVarInt(record.creator);
+            out.writeVarInt(record.description);
+            writeIds(out, record.studentList);
+            writeIds(out, record.commitList);
+            writeIds(out, record.exitStudentList);
+            out.writeVarInt(record.waitListCapacity);
+            writeIds(out, record.waitList);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Check if data starts with the MAGIC of the binary format.
+     *
+     * @param data The data to check.
+     * @return True if the data is in the binary format; otherwise, false.
+     */
+    static boolean isEncoded(byte[] data) {
+        return data.length >= Integer.BYTES && new Reader(data).readInt() == MAGIC;
+    }
+
+    /**
+     * Decode camps in the binary format.
+     *
+     * @param data The encoded camps.
+     * @return A TreeMap of the camps decoded, keyed by name.
+     * @throws IOException If the data is malformed or its version is not supported.
+     */
+    static TreeMap<String, Camp> decode(byte[] data) throws IOException {
+        try {
+            Reader in = new Reader(data);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a camps file");
+            }
+            int version = in.readVarInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported camps file version " + version);
+            }
+            String[] strings = new String[in.readVarInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readString();
+            }
+            TreeMap<String, Camp> camps = new TreeMap<>();
+            int count = in.readVarInt();
+            for (int i = 0; i < count; i++) {
+                String name = strings[in.readVarInt()];
+                LocalDate date = LocalDate.ofEpochDay(unZigZag(in.readVarLong()));
+                LocalDate closureDate = LocalDate.ofEpochDay(unZigZag(in.readVarLong()));
+                boolean visible = in.readVarInt() != 0;
+                String faculty = strings[in.readVarInt()];
+                String location = strings[in.readVarInt()];
+                int remainingSlots = (int) unZigZag(in.readVarLong());
+                int remainingCommitSlots = (int) unZigZag(in.readVarLong());
+                String creator = strings[in.readVarInt()];
+                String description = strings[in.readVarInt()];
+                Camp camp = new Camp(name, date, closureDate, faculty, location, remainingSlots,
+                        remainingCommitSlots, description, creator);
+                camp.setVisible(visible);
+                camp.restoreStudents(readIds(in, strings), readIds(in, strings), readIds(in, strings));
+                if (version >= 2) {
+                    int waitListCapacity = in.readVarInt();
+                    camp.restoreWaitList(readIds(in, strings), waitListCapacity);
+                }
+                camps.put(name, camp);
+            }
+            return camps;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Malformed camps file", e);
+        }
+    }
+
+    private static CampRecord snapshot(Camp camp, Map<String, Integer> stringIndex, List<String> strings) {
+        CampRecord record = new CampRecord();
+        synchronized (camp) {
+            record.name = intern(camp.getName(), stringIndex, strings);
+            record.date = camp.getDate();
+            record.closureDate = camp.getClosureDate();
+            record.visible = camp.isVisible();
+            record.faculty = intern(camp.getFaculty(), stringIndex, strings);
+            record.location = intern(camp.getLocation(), stringIndex, strings);
+            record.remainingSlots = camp.getRemainingSlots();
+            record.remainingCommitSlots = camp.getRemainingCommitSlots();
+            record.creator = intern(camp.getCreator(), stringIndex, strings);
+            record.description = intern(camp.getDescription(), stringIndex, strings);
+            record.studentList = intern(camp.getStudentSet(), stringIndex, strings);
+            record.commitList = intern(camp.getCommitList(), stringIndex, strings);
+            record.exitStudentList = intern(camp.getExitStudentList(), stringIndex, strings);
+            record.waitListCapacity = camp.getWaitListCapacity();
+            record.waitList = intern(camp.getWaitListSet(), stringIndex, strings);
+        }
+        return record;
+    }
+
+    private static int intern(String string, Map<String, Integer> stringIndex, List<String> strings) {
+        Integer index = stringIndex.putIfAbsent(string, strings.size());
+        if (index == null) {
+            strings.add(string);
+            return strings.size() - 1;
+        }
+        return index;
+    }
+
+    private static int[] intern(Collection<String> ids, Map<String, Integer> stringIndex, List<String> strings) {
+        int[] indexes = new int[ids.size()];
+        int i = 0;
+        for (String id : ids) {
+            indexes[i++] = intern(id, stringIndex, strings);
+        }
+        return indexes;
+    }
+
+    private static void writeIds(Writer out, int[] ids) {
+        out.writeVarInt(ids.length);
+        for (int id : ids) {
+            out.writeVarInt(id);
+        }
+    }
+
+    private static List<String> readIds(Reader in, String[] strings) {
+        int count = in.readVarInt();
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(strings[in.readVarInt()]);
+        }
+        return ids;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Growable byte buffer the camps are encoded into.
+     */
+    private static class Writer {
+        private byte[] bytes = new byte[1 << 16];
+        private int size;
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        private void writeInt(int value) {
+            ensure(Integer.BYTES);
+            bytes[size++] = (byte) (value >>> 24);
+            bytes[size++] = (byte) (value >>> 16);
+            bytes[size++] = (byte) (value >>> 8);
+            bytes[size++] = (byte) value;
+        }
+
+        private void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        private void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        private void writeString(String string) {
+            byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    /**
+     * Cursor over encoded camps.
+     */
+    private static class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        private Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private int readInt() {
+            int value = ((bytes[position] & 0xFF) << 24) | ((bytes[position + 1] & 0xFF) << 16)
+                    | ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+            position += Integer.BYTES;
+            return value;
+        }
+
+        private int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IndexOutOfBoundsException("Malformed varint");
+        }
+
+        private String readString() {
+            int length = readVarInt();
+            if (length < 0 || position + length > bytes.length) {
+                throw new IndexOutOfBoundsException("Malformed string");
+            }
+            String string = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return string;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package camp;
+
+/**
+ * CampFlushPolicy decides when the camps changed since the last flush are
+ * saved to the segment store.
+ * Changed camps are flushed once a number of them are waiting, or once the
+ * oldest change has waited for a given time, whichever comes first.
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class CampFlushPolicy {
+    // Flush after 16 changed camps or 1 second by default
+    public static final int DEFAULT_MAX_DIRTY_CAMPS = 16;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 1000;
+
+    private final int maxDirtyCamps;
+    private final long maxDelayMillis;
+
+    /**
+     * Constructor to initialize a CampFlushPolicy.
+     *
+     * @param maxDirtyCamps  Number of changed camps that triggers a flush, 1 to
+     *                       flush on every change.
+     * @param maxDelayMillis Longest time a change waits before it is flushed.
+     */
+    public CampFlushPolicy(int maxDirtyCamps, long maxDelayMillis) {
+        if (maxDirtyCamps < 1 || maxDelayMillis < 1) {
+            throw new IllegalArgumentException("Flush policy limits must be positive");
+        }
+        this.maxDirtyCamps = maxDirtyCamps;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * Get the default flush policy.
+     *
+     * @return The policy flushing after 16 changed camps or 1 second.
+     */
+    public static CampFlushPolicy defaultPolicy() {
+        return new CampFlushPolicy(DEFAULT_MAX_DIRTY_CAMPS, DEFAULT_MAX_DELAY_MILLIS);
+    }
+
+    /**
+     * Get the number of changed camps that triggers a flush.
+     *
+     * @return The number of changed camps.
+     */
+    public int getMaxDirtyCamps() {
+        return maxDirtyCamps;
+    }
+
+    /**
+     * Get the longest time a change waits before it is flushed.
+     *
+     * @return The time in milliseconds.
+     */
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+}
@@ -0,0 +1,329 @@
+package camp;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+import utils.TextIndex;
+
+/**
+ * CampIndex keeps secondary indexes of camps by student, waiting student,
+ * date, closure date, faculty, creator and location, so that lookups on these
+ * attributes do not need to scan every camp, and a TextIndex of the words of
+ * their name, description and location for searching camps by approximate
+ * words. Dates are kept in order, so the camps of a range of dates are found
+ * in O(log n + k).
+ * Kept up to date by CampManager through CampListener notifications.
+ * Safe for concurrent use, each key maps to a concurrent set of camps changed
+ * in place, so adding a camp costs O(1) however many camps share the key. A
+ * set is emptied and dropped under its own lock, and a camp is only added to
+ * a set still in the index. Changes of the words of camps are notified while
+ * the camp is locked, so they are only noted, and applied to the TextIndex
+ * before the next search, when no camp is locked; the search can then test
+ * its condition on the camps under the lock of the TextIndex.
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+class CampIndex {
+    // Weights of the name, description and location of a camp in text searches
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int LOCATION_WEIGHT = 2;
+
+    private final Map<String, Set<Camp>> byStudent = new ConcurrentHashMap<>();
+    private final Map<String, Set<Camp>> byWaitingStudent = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<LocalDate, Set<Camp>> byDate = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<LocalDate, Set<Camp>> byClosureDate = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<Camp>> byFaculty = new ConcurrentHashMap<>();
+    private final Map<String, Set<Camp>> byCreator = new ConcurrentHashMap<>();
+    private final Map<String, Set<Camp>> byLocation = new ConcurrentHashMap<>();
+    private final TextIndex<Camp> byText = new TextIndex<>(Comparator.comparing(Camp::getName),
+            NAME_WEIGHT, DESCRIPTION_WEIGHT, LOCATION_WEIGHT);
+    // camps whose words changed since the last search, true to index again, false to remove
+    private final Map<Camp, Boolean> textChanges = new ConcurrentHashMap<>();
+    private final Object textLock = new Object();
+
+    /**
+     * Add a camp and its registered and waiting students to every index.
+     *
+     * @param camp The camp to add.
+     */
+    void add(Camp camp) {
+        for (String studentID : camp.getStudentList()) {
+            put(byStudent, studentID, camp);
+        }
+        for (String studentID : camp.getWaitList()) {
+            put(byWaitingStudent, studentID, camp);
+        }
+        put(byDate, camp.getDate(), camp);
+        put(byClosureDate, camp.getClosureDate(), camp);
+        put(byFaculty, camp.getFaculty(), camp);
+        put(byCreator, camp.getCreator(), camp);
+        put(byLocation, camp.getLocation(), camp);
+        textChanged(camp);
+    }
+
+    /**
+     * Remove a camp and its registered and waiting students from every index.
+     *
+     * @param camp The camp to remove.
+     */
+    void remove(Camp camp) {
+        for (String studentID : camp.getStudentList()) {
+            delete(byStudent, studentID, camp);
+        }
+        for (String studentID : camp.getWaitList()) {
+            delete(byWaitingStudent, studentID, camp);
+        }
+        delete(byDate, camp.getDate(), camp);
+        delete(byClosureDate, camp.getClosureDate(), camp);
+        delete(byFaculty, camp.getFaculty(), camp);
+        delete(byCreator, camp.getCreator(), camp);
+        delete(byLocation, camp.getLocation(), camp);
+        textChanges.put(camp, Boolean.FALSE);
+    }
+
+    void studentAdded(Camp camp, String studentID) {
+        put(byStudent, studentID, camp);
+    }
+
+    void studentRemoved(Camp camp, String studentID) {
+        delete(byStudent, studentID, camp);
+    }
+
+    void waitListAdded(Camp camp, String studentID) {
+        put(byWaitingStudent, studentID, camp);
+    }
+
+    void waitListRemoved(Camp camp, String studentID) {
+        delete(byWaitingStudent, studentID, camp);
+    }
+
+    void dateChanged(Camp camp, LocalDate oldDate) {
+        delete(byDate, oldDate, camp);
+        put(byDate, camp.getDate(), camp);
+    }
+
+    void closureDateChanged(Camp camp, LocalDate oldClosureDate) {
+        delete(byClosureDate, oldClosureDate, camp);
+        put(byClosureDate, camp.getClosureDate(), camp);
+    }
+
+    void textChanged(Camp camp) {
+        textChanges.put(camp, Boolean.TRUE);
+    }
+
+    void facultyChanged(Camp camp, String oldFaculty) {
+        delete(byFaculty, oldFaculty, camp);
+        put(byFaculty, camp.getFaculty(), camp);
+    }
+
+    void locationChanged(Camp camp, String oldLocation) {
+        delete(byLocation, oldLocation, camp);
+        put(byLocation, camp.getLocation(), camp);
+    }
+
+    /**
+     * Get the camps a student is registered for.
+     *
+     * @param studentID The ID of the student.
+     * @return The camps the student is registered for.
+     */
+    Collection<Camp> getCampsOfStudent(String studentID) {
+        return get(byStudent, studentID);
+    }
+
+    /**
+     * Get the camps a student is on the waitlist of.
+     *
+     * @param studentID The ID of the student.
+     * @return The camps the student is waiting for.
+     */
+    Collection<Camp> getCampsWaitedBy(String studentID) {
+        return get(byWaitingStudent, studentID);
+    }
+
+    /**
+     * Get the camps held on a date.
+     *
+     * @param date The date of the camps.
+     * @return The camps held on the date.
+     */
+    Collection<Camp> getCampsOfDate(LocalDate date) {
+        return get(byDate, date);
+    }
+
+    /**
+     * Get the camps held between two dates.
+     *
+     * @param from The first date, included.
+     * @param to   The last date, included.
+     * @return The camps held between the dates.
+     */
+    Collection<Camp> getCampsBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return Collections.emptySet();
+        }
+        return collect(byDate.subMap(from, true, to, true));
+    }
+
+    /**
+     * Count the camps held between two dates, without collecting them.
+     *
+     * @param from The first date, included.
+     * @param to   The last date, included.
+     * @return The number of camps held between the dates.
+     */
+    int countCampsBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return 0;
+        }
+        return count(byDate.subMap(from, true, to, true));
+    }
+
+    /**
+     * Get the camps still open for registration on a date, those whose
+     * registration closes on that date or later.
+     *
+     * @param date The date of registration.
+     * @return The camps open for registration on the date.
+     */
+    Collection<Camp> getCampsOpenOn(LocalDate date) {
+        return collect(byClosureDate.tailMap(date, true));
+    }
+
+    /**
+     * Count the camps still open for registration on a date, without
+     * collecting them.
+     *
+     * @param date The date of registration.
+     * @return The number of camps open for registration on the date.
+     */
+    int countCampsOpenOn(LocalDate date) {
+        return count(byClosureDate.tailMap(date, true));
+    }
+
+    /**
+     * Get the camps open to a faculty.
+     *
+     * @param faculty The faculty of the camps.
+     * @return The camps open to the faculty.
+     */
+    Collection<Camp> getCampsOfFaculty(String faculty) {
+        return get(byFaculty, faculty);
+    }
+
+    /**
+     * Get the camps created by a staff.
+     *
+     * @param creator The staff ID of the creator.
+     * @return The camps created by the staff.
+     */
+    Collection<Camp> getCampsOfCreator(String creator) {
+        return get(byCreator, creator);
+    }
+
+    /**
+     * Get the camps held at a location.
+     *
+     * @param location The location of the camps.
+     * @return The camps held at the location.
+     */
+    Collection<Camp> getCampsOfLocation(String location) {
+        return get(byLocation, location);
+    }
+
+    /**
+     * Search the camps by words of their name, description or location, which
+     * may be misspelt or incomplete.
+     *
+     * @param text      The words searched.
+     * @param k         The largest number of camps wanted.
+     * @param condition The condition on the camps returned.
+     * @return Up to k camps, from the best match down.
+     */
+    List<Camp> search(String text, int k, Predicate<Camp> condition) {
+        applyTextChanges();
+        return byText.search(text, k, condition);
+    }
+
+    /**
+     * Bring the TextIndex up to date with the changes noted since the last
+     * search, reading each camp before locking the TextIndex.
+     */
+    private void applyTextChanges() {
+        if (textChanges.isEmpty()) {
+            return;
+        }
+        synchronized (textLock) {
+            for (Camp camp : textChanges.keySet()) {
+                Boolean indexed = textChanges.remove(camp);
+                if (Boolean.TRUE.equals(indexed)) {
+                    String name = camp.getName();
+                    String description = camp.getDescription();
+                    String location = camp.getLocation();
+                    byText.put(camp, name, description, location);
+                } else if (indexed != null) {
+                    byText.remove(camp);
+                }
+            }
+        }
+    }
+
+    private static Collection<Camp> collect(NavigableMap<LocalDate, Set<Camp>> range) {
+        List<Camp> camps = new ArrayList<>();
+        for (Set<Camp> ofDate : range.values()) {
+            camps.addAll(ofDate);
+        }
+        return camps;
+    }
+
+    private static int count(NavigableMap<LocalDate, Set<Camp>> range) {
+        int count = 0;
+        for (Set<Camp> ofDate : range.values()) {
+            count += ofDate.size();
+        }
+        return count;
+    }
+
+    private static <K> void put(Map<K, Set<Camp>> index, K key, Camp camp) {
+        while (true) {
+            Set<Camp> camps = index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet());
+            synchronized (camps) {
+                // a set emptied and dropped by delete is not used again
+                if (index.get(key) == camps) {
+                    camps.add(camp);
+                    return;
+                }
+            }
+        }
+    }
+
+    private static <K> void delete(Map<K, Set<Camp>> index, K key, Camp camp) {
+        Set<Camp> camps = index.get(key);
+        if (camps == null) {
+            return;
+        }
+        synchronized (camps) {
+            if (camps.remove(camp) && camps.isEmpty()) {
+                index.remove(key, camps);
+            }
+        }
+    }
+
+    private static <K> Collection<Camp> get(Map<K, Set<Camp>> index, K key) {
+        Set<Camp> camps = index.get(key);
+        return camps == null ? Collections.emptySet() : Collections.unmodifiableSet(camps);
+    }
+}
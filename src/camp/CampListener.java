@@ -0,0 +1,104 @@
+package camp;
+
+import java.time.LocalDate;
+
+/**
+ * CampListener is notified by a Camp after its membership or one of its
+ * indexed attributes has changed.
+ * Used by CampManager to keep its indexes of camps up to date and to track
+ * the camps that need to be saved.
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+interface CampListener {
+
+    /**
+     * Called after a student has been added to the camp.
+     *
+     * @param camp      The camp changed.
+     * @param studentID The ID of the student added.
+     */
+    void studentAdded(Camp camp, String studentID);
+
+    /**
+     * Called after a student has been removed from the camp.
+     *
+     * @param camp      The camp changed.
+     * @param studentID The ID of the student removed.
+     */
+    void studentRemoved(Camp camp, String studentID);
+
+    /**
+     * Called after a student has been added to the waitlist of the camp.
+     *
+     * @param camp      The camp changed.
+     * @param studentID The ID of the student added.
+     */
+    void waitListAdded(Camp camp, String studentID);
+
+    /**
+     * Called after a student has been removed from the waitlist of the camp,
+     * whether they left it or were promoted from it.
+     *
+     * @param camp      The camp changed.
+     * @param studentID The ID of the student removed.
+     */
+    void waitListRemoved(Camp camp, String studentID);
+
+    /**
+     * Called after the name of the camp has changed.
+     *
+     * @param camp    The camp changed.
+     * @param oldName The previous name of the camp.
+     */
+    void nameChanged(Camp camp, String oldName);
+
+    /**
+     * Called after the date of the camp has changed.
+     *
+     * @param camp    The camp changed.
+     * @param oldDate The previous date of the camp.
+     */
+    void dateChanged(Camp camp, LocalDate oldDate);
+
+    /**
+     * Called after the registration closure date of the camp has changed.
+     *
+     * @param camp           The camp changed.
+     * @param oldClosureDate The previous closure date of the camp.
+     */
+    void closureDateChanged(Camp camp, LocalDate oldClosureDate);
+
+    /**
+     * Called after the faculty of the camp has changed.
+     *
+     * @param camp       The camp changed.
+     * @param oldFaculty The previous faculty of the camp.
+     */
+    void facultyChanged(Camp camp, String oldFaculty);
+
+    /**
+     * Called after the location of the camp has changed.
+     *
+     * @param camp        The camp changed.
+     * @param oldLocation The previous location of the camp.
+     */
+    void locationChanged(Camp camp, String oldLocation);
+
+    /**
+     * Called after the description of the camp has changed.
+     *
+     * @param camp           The camp changed.
+     * @param oldDescription The previous description of the camp.
+     */
+    void descriptionChanged(Camp camp, String oldDescription);
+
+    /**
+     * Called after any change to the camp, including the changes above.
+     *
+     * @param camp The camp changed.
+     */
+    void campChanged(Camp camp);
+}
@@ -1,208 +1,601 @@
-package camp;
-
-import utils.OperationResult;
-
-import java.time.LocalDate;
-import java.util.List;
-import java.util.TreeMap;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-
-/**
- * CampManager class is responsible for managing camps and their operations.
- * It maintains a TreeMap of camps and provides methods for adding, removing,
- * and accessing camps.
- * 
- * @author group1
- * @version 1.0
- * @since 24 nov 2023
- */
-public class CampManager {
-    private TreeMap<String, Camp> campTreeMap;
-
-    private static CampManager instance;
-
-    /**
-     * Private constructor to initialize a CampManager instance.
-     * Loads existing camps from storage using CampSaver.
-     */
-    private CampManager() {
-        campTreeMap = CampSaver.loadCamps();
-    }
-
-    /**
-     * Get the singleton instance of CampManager.
-     *
-     * @return The CampManager instance.
-     */
-    public static CampManager getInstance() {
-        if (instance == null) {
-            instance = new CampManager();
-        }
-        return instance;
-    }
-
-    /**
-     * Save the current state of camps to storage using CampSaver.
-     */
-    public void saveCamps() {
-        CampSaver.saveCamps(campTreeMap);
-    }
-
-    /**
-     * Check if a camp with the given name exists.
-     *
-     * @param name The name of the camp to check.
-     * @return True if a camp with the given name exists; otherwise, false.
-     */
-    public boolean hasCamp(String name) {
-        return campTreeMap.containsKey(name);
-    }
-
-    /**
-     * Add a new camp to the manager.
-     *
-     * @param camp The camp to add.
-     * @return An OperationResult indicating the success or failure of the
-     *         operation.
-     */
-    public OperationResult addCamp(Camp camp) {
-        if (hasCamp(camp.getName())) {
-            return OperationResult.failure("There is an existing camp with the same name");
-        }
-        campTreeMap.put(camp.getName(), camp);
-        return OperationResult.success();
-    }
-
-    /**
-     * Remove a camp with the given name from the manager.
-     *
-     * @param name The name of the camp to remove.
-     * @return An OperationResult indicating the success or failure of the
-     *         operation.
-     */
-    public OperationResult removeCamp(String name) {
-        if (!hasCamp(name)) {
-            return OperationResult.failure("No camp with the given name exists");
-        }
-        if (!campTreeMap.get(name).hasNoStudent()) {
-            return OperationResult.failure("Cannot remove camp with student registered");
-        }
-        campTreeMap.remove(name);
-        return OperationResult.success();
-    }
-
-    /**
-     * Get a camp by name.
-     *
-     * @param name The name of the camp to retrieve.
-     * @return The Camp object if found; otherwise, null.
-     */
-    public Camp getCamp(String name) {
-        return getCamp(name, camp -> true);
-    }
-
-    /**
-     * Get a camp by name that satisfies a specific condition.
-     *
-     * @param name      The name of the camp to retrieve.
-     * @param condition The condition to filter camps.
-     * @return The Camp object if found and the condition is satisfied; otherwise,
-     *         null.
-     */
-    public Camp getCamp(String name, Predicate<Camp> condition) {
-        Camp camp = campTreeMap.get(name);
-        if (camp != null && condition.test(camp)) {
-            return camp;
-        }
-        return null;
-    }
-
-    /**
-     * Get a list of camps that satisfy a specific condition.
-     *
-     * @param condition The condition to filter camps.
-     * @return A List of Camp objects that satisfy the condition.
-     */
-    public List<Camp> getCampList(Predicate<Camp> condition) {
-        return campTreeMap.values().stream().filter(condition).collect(Collectors.toList());
-    }
-
-    /**
-     * Find the first camp that satisfies a specific condition.
-     *
-     * @param condition The condition to search for a camp.
-     * @return The first Camp object that satisfies the condition; otherwise, null.
-     */
-    public Camp findCamp(Predicate<Camp> condition) {
-        for (Camp camp : campTreeMap.values()) {
-            if (condition.test(camp))
-                return camp;
-        }
-        return null;
-    }
-
-    /**
-     * Apply an action to a camp with the given name.
-     *
-     * @param name   The name of the camp to apply the action to.
-     * @param action The action to perform on the camp.
-     * @return An OperationResult indicating the success or failure of the action.
-     */
-    public OperationResult applyToCamp(String name, Function<Camp, OperationResult> action) {
-        if (!hasCamp(name)) {
-            return OperationResult.failure("No camp with the given name exists");
-        }
-        return action.apply(getCamp(name));
-    }
-
-    /**
-     * Check if a student is already registered for a camp on the same date.
-     *
-     * @param studentID The ID of the student.
-     * @param date      The date to check for clashes.
-     * @return The name of the conflicting camp if a clash is found; otherwise,
-     *         null.
-     */
-    private String clashDate(String studentID, LocalDate date) {
-        for (Camp camp : campTreeMap.values()) {
-            if (camp.hasStudent(studentID) && camp.getDate().isEqual(date))
-                return camp.getName();
-        }
-        return null;
-    }
-
-    /**
-     * Join a camp with the given name, student ID, and role (student or committee
-     * member).
-     *
-     * @param name      The name of the camp to join.
-     * @param studentID The ID of the student joining the camp.
-     * @param asCommit  True if joining as a committee member; False if joining as a
-     *                  student.
-     * @param condition The condition to filter camps for joining.
-     * @return An OperationResult indicating the success or failure of joining the
-     *         camp.
-     */
-    public OperationResult joinCamp(String name, String studentID, boolean asCommit, boolean isCommittee,
-            Predicate<Camp> condition) {
-        Camp camp = getCamp(name, condition);
-        if (camp == null) {
-            return OperationResult.failure("No camp with the given name exists");
-        }
-        String clashCamp = clashDate(studentID, camp.getDate());
-        if (clashCamp != null)
-            return OperationResult.failure("You have already joined camp " + clashCamp + " on the same date");
-        if (asCommit && !isCommittee) {
-            return applyToCamp(name, camp1 -> camp1.addCommitMember(studentID));
-        }
-        if (asCommit && isCommittee) {
-            return OperationResult.failure("You are a committee member of another camp.");
-        }
-
-        else {
-            return applyToCamp(name, camp1 -> camp1.addStudent(studentID));
-        }
-    }
+package camp;
+
+import utils.OperationResult;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * CampManager class is responsible for managing camps and their operations.
+ * It maintains a sorted map of camps and provides methods for adding, removing,
+ * and accessing camps.
+ * Secondary indexes by student, date, faculty, creator and location are kept
+ * up to date as camps change, so lookups on them do not scan every camp.
+ * Safe to share between concurrent sessions: the camp map and indexes are
+ * concurrent, and each camp guards its own slots.
+ * Joining and quitting hold a striped per-student lock and then the camp, so
+ * the one-camp-per-date and one-committee-camp rules hold without a global lock.
+ * A slot freed in a camp with a waitlist is given to the first waiting student
+ * under the lock of that student, after the quitting student's lock is
+ * released, so no two student locks are ever held together.
+ * Changed camps are tracked and flushed in the background to the segment
+ * store of CampSaver according to a CampFlushPolicy, so a change is saved
+ * without rewriting every camp.
+ * 
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class CampManager {
+    private ConcurrentNavigableMap<String, Camp> campTreeMap;
+    private CampIndex campIndex;
+    private CampListener campListener;
+    private final Object[] studentLocks;
+    // Camps changed since the last flush, by name, and names no longer in use
+    private final Map<String, Camp> dirtyCamps = new ConcurrentHashMap<>();
+    private final Set<String> removedCamps = ConcurrentHashMap.newKeySet();
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher;
+    private ScheduledFuture<?> scheduledFlush;
+    private volatile CampFlushPolicy flushPolicy;
+
+    // Number of per-student locks, students are spread across them by ID
+    private static final int STUDENT_LOCK_STRIPES = 64;
+
+    private static CampManager instance;
+
+    /**
+     * Private constructor to initialize a CampManager instance.
+     * Loads existing camps from storage using CampSaver and builds the indexes.
+     */
+    private CampManager() {
+        campTreeMap = new ConcurrentSkipListMap<>(CampSaver.loadCamps());
+        campIndex = new CampIndex();
+        campListener = new IndexUpdater();
+        studentLocks = new Object[STUDENT_LOCK_STRIPES];
+        for (int i = 0; i < STUDENT_LOCK_STRIPES; i++) {
+            studentLocks[i] = new Object();
+        }
+        for (Camp camp : campTreeMap.values()) {
+            campIndex.add(camp);
+            camp.setListener(campListener);
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CAMs-camp-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        setFlushPolicy(CampFlushPolicy.defaultPolicy());
+    }
+
+    /**
+     * Keeps the camp map and the indexes up to date as camps change, and
+     * tracks the camps to flush.
+     */
+    private class IndexUpdater implements CampListener {
+        @Override
+        public void studentAdded(Camp camp, String studentID) {
+            campIndex.studentAdded(camp, studentID);
+        }
+
+        @Override
+        public void studentRemoved(Camp camp, String studentID) {
+            campIndex.studentRemoved(camp, studentID);
+        }
+
+        @Override
+        public void waitListAdded(Camp camp, String studentID) {
+            campIndex.waitListAdded(camp, studentID);
+        }
+
+        @Override
+        public void waitListRemoved(Camp camp, String studentID) {
+            campIndex.waitListRemoved(camp, studentID);
+        }
+
+        @Override
+        public void nameChanged(Camp camp, String oldName) {
+            campTreeMap.remove(oldName, camp);
+            campTreeMap.put(camp.getName(), camp);
+            dirtyCamps.remove(oldName, camp);
+            removedCamps.add(oldName);
+            campIndex.textChanged(camp);
+        }
+
+        @Override
+        public void dateChanged(Camp camp, LocalDate oldDate) {
+            campIndex.dateChanged(camp, oldDate);
+        }
+
+        @Override
+        public void closureDateChanged(Camp camp, LocalDate oldClosureDate) {
+            campIndex.closureDateChanged(camp, oldClosureDate);
+        }
+
+        @Override
+        public void facultyChanged(Camp camp, String oldFaculty) {
+            campIndex.facultyChanged(camp, oldFaculty);
+        }
+
+        @Override
+        public void locationChanged(Camp camp, String oldLocation) {
+            campIndex.locationChanged(camp, oldLocation);
+        }
+
+        @Override
+        public void descriptionChanged(Camp camp, String oldDescription) {
+            campIndex.textChanged(camp);
+        }
+
+        @Override
+        public void campChanged(Camp camp) {
+            markDirty(camp);
+        }
+    }
+
+    /**
+     * Get the singleton instance of CampManager.
+     *
+     * @return The CampManager instance.
+     */
+    public static synchronized CampManager getInstance() {
+        if (instance == null) {
+            instance = new CampManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Save the current state of camps to storage using CampSaver.
+     * Replaces the segment store, so pending changes need no flush.
+     */
+    public void saveCamps() {
+        synchronized (flushLock) {
+            // a camp changed after this point is marked again and flushed later
+            dirtyCamps.clear();
+            removedCamps.clear();
+            CampSaver.saveCamps(new TreeMap<>(campTreeMap));
+        }
+    }
+
+    /**
+     * Save the camps changed since the last flush to the segment store of
+     * CampSaver.
+     */
+    public void flushCamps() {
+        synchronized (flushLock) {
+            for (String name : removedCamps) {
+                removedCamps.remove(name);
+                // the name may have been reused by a camp that is now dirty
+                if (!campTreeMap.containsKey(name)) {
+                    CampSaver.saveRemovedCampSegment(name);
+                }
+            }
+            for (Map.Entry<String, Camp> entry : dirtyCamps.entrySet()) {
+                if (dirtyCamps.remove(entry.getKey(), entry.getValue())) {
+                    CampSaver.saveCampSegment(entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Set when the changed camps are flushed.
+     *
+     * @param flushPolicy The policy deciding when to flush.
+     */
+    public synchronized void setFlushPolicy(CampFlushPolicy flushPolicy) {
+        this.flushPolicy = flushPolicy;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+        }
+        long delay = flushPolicy.getMaxDelayMillis();
+        scheduledFlush = flusher.scheduleWithFixedDelay(this::flushIfDirty, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Mark a camp as changed, flushing now if enough camps are waiting.
+     *
+     * @param camp The camp changed.
+     */
+    private void markDirty(Camp camp) {
+        dirtyCamps.put(camp.getName(), camp);
+        if (dirtyCamps.size() >= flushPolicy.getMaxDirtyCamps()) {
+            flusher.execute(this::flushIfDirty);
+        }
+    }
+
+    private void flushIfDirty() {
+        if (dirtyCamps.isEmpty() && removedCamps.isEmpty()) {
+            return;
+        }
+        try {
+            flushCamps();
+        } catch (RuntimeException e) {
+            // keep the flusher running for later changes
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Check if a camp with the given name exists.
+     *
+     * @param name The name of the camp to check.
+     * @return True if a camp with the given name exists; otherwise, false.
+     */
+    public boolean hasCamp(String name) {
+        return campTreeMap.containsKey(name);
+    }
+
+    /**
+     * Add a new camp to the manager.
+     *
+     * @param camp The camp to add.
+     * @return An OperationResult indicating the success or failure of the
+     *         operation.
+     */
+    public OperationResult addCamp(Camp camp) {
+        if (campTreeMap.putIfAbsent(camp.getName(), camp) != null) {
+            return OperationResult.failure("There is an existing camp with the same name");
+        }
+        campIndex.add(camp);
+        camp.setListener(campListener);
+        markDirty(camp);
+        return OperationResult.success();
+    }
+
+    /**
+     * Remove a camp with the given name from the manager.
+     *
+     * @param name The name of the camp to remove.
+     * @return An OperationResult indicating the success or failure of the
+     *         operation.
+     */
+    public OperationResult removeCamp(String name) {
+        Camp camp = campTreeMap.get(name);
+        if (camp == null) {
+            return OperationResult.failure("No camp with the given name exists");
+        }
+        // hold the camp so no student can join between the check and the removal
+        synchronized (camp) {
+            if (!camp.hasNoStudent()) {
+                return OperationResult.failure("Cannot remove camp with student registered");
+            }
+            if (!campTreeMap.remove(name, camp)) {
+                return OperationResult.failure("No camp with the given name exists");
+            }
+            campIndex.remove(camp);
+            camp.setListener(null);
+            dirtyCamps.remove(name, camp);
+            removedCamps.add(name);
+        }
+        return OperationResult.success();
+    }
+
+    /**
+     * Get a camp by name.
+     *
+     * @param name The name of the camp to retrieve.
+     * @return The Camp object if found; otherwise, null.
+     */
+    public Camp getCamp(String name) {
+        return getCamp(name, camp -> true);
+    }
+
+    /**
+     * Search the camps by words of their name, description or location, which
+     * may be misspelt or incomplete.
+     *
+     * @param text      The words searched.
+     * @param k         The largest number of camps wanted.
+     * @param condition The condition on the camps returned.
+     * @return Up to k camps satisfying the condition, from the best match down.
+     */
+    public List<Camp> searchCamps(String text, int k, Predicate<Camp> condition) {
+        return campIndex.search(text, k, condition);
+    }
+
+    /**
+     * Get a camp by name that satisfies a specific condition.
+     *
+     * @param name      The name of the camp to retrieve.
+     * @param condition The condition to filter camps.
+     * @return The Camp object if found and the condition is satisfied; otherwise,
+     *         null.
+     */
+    public Camp getCamp(String name, Predicate<Camp> condition) {
+        Camp camp = campTreeMap.get(name);
+        if (camp != null && condition.test(camp)) {
+            return camp;
+        }
+        return null;
+    }
+
+    /**
+     * Get a list of camps that satisfy a specific condition.
+     *
+     * @param condition The condition to filter camps.
+     * @return A List of Camp objects that satisfy the condition.
+     */
+    public List<Camp> getCampList(Predicate<Camp> condition) {
+        return campTreeMap.values().stream().filter(condition).collect(Collectors.toList());
+    }
+
+    /**
+     * Get a list of camps that satisfy a specific condition, looking up the
+     * candidate camps of the filter in the indexes instead of scanning all camps.
+     *
+     * @param campFilter The filter whose criterion selects the candidate camps.
+     * @param condition  The condition to filter camps.
+     * @return A List of Camp objects that satisfy the condition, ordered by name.
+     */
+    public List<Camp> getCampList(CampFilter campFilter, Predicate<Camp> condition) {
+        Collection<Camp> candidates = campFilter.lookup(campIndex);
+        if (candidates == null) {
+            return getCampList(condition);
+        }
+        return sortByName(candidates, condition);
+    }
+
+    /**
+     * Get the camps matching a query. The indexed criterion of the query
+     * matching the fewest camps supplies the candidates, the other criteria
+     * are tested on them.
+     *
+     * @param query The query.
+     * @return A List of Camp objects matching the query, ordered by name.
+     */
+    public List<Camp> query(CampQuery query) {
+        CampQuery.Plan plan = query.plan(campIndex);
+        if (plan.getCandidates() == null) {
+            return getCampList(plan.getResidual());
+        }
+        return sortByName(plan.getCandidates(), plan.getResidual());
+    }
+
+    /**
+     * Get a list of camps a student is registered for that satisfy a specific
+     * condition.
+     *
+     * @param studentID The ID of the student.
+     * @param condition The condition to filter camps.
+     * @return A List of Camp objects that satisfy the condition, ordered by name.
+     */
+    public List<Camp> getStudentCampList(String studentID, Predicate<Camp> condition) {
+        return sortByName(campIndex.getCampsOfStudent(studentID), condition);
+    }
+
+    private static List<Camp> sortByName(Collection<Camp> camps, Predicate<Camp> condition) {
+        return camps.stream().filter(condition).sorted(Comparator.comparing(Camp::getName))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Find the first camp that satisfies a specific condition.
+     *
+     * @param condition The condition to search for a camp.
+     * @return The first Camp object that satisfies the condition; otherwise, null.
+     */
+    public Camp findCamp(Predicate<Camp> condition) {
+        for (Camp camp : campTreeMap.values()) {
+            if (condition.test(camp))
+                return camp;
+        }
+        return null;
+    }
+
+    /**
+     * Apply an action to a camp with the given name.
+     *
+     * @param name   The name of the camp to apply the action to.
+     * @param action The action to perform on the camp.
+     * @return An OperationResult indicating the success or failure of the action.
+     */
+    public OperationResult applyToCamp(String name, Function<Camp, OperationResult> action) {
+        if (!hasCamp(name)) {
+            return OperationResult.failure("No camp with the given name exists");
+        }
+        return action.apply(getCamp(name));
+    }
+
+    /**
+     * Check if a student is already registered for a camp on the same date.
+     *
+     * @param studentID The ID of the student.
+     * @param date      The date to check for clashes.
+     * @return The name of the conflicting camp if a clash is found; otherwise,
+     *         null.
+     */
+    private String clashDate(String studentID, LocalDate date) {
+        // only called while holding the lock of the student
+        for (Camp camp : campIndex.getCampsOfStudent(studentID)) {
+            if (camp.getDate().isEqual(date))
+                return camp.getName();
+        }
+        return null;
+    }
+
+    /**
+     * Get the lock guarding the camp registrations of a student.
+     *
+     * @param studentID The ID of the student.
+     * @return The lock shared by the students of the same stripe.
+     */
+    private Object studentLock(String studentID) {
+        return studentLocks[Math.floorMod(studentID.hashCode(), STUDENT_LOCK_STRIPES)];
+    }
+
+    /**
+     * Check if a student is a committee member of any camp.
+     *
+     * @param studentID The ID of the student.
+     * @return True if the student is a committee member of a camp; otherwise, false.
+     */
+    private boolean isCommitMemberOfAnyCamp(String studentID) {
+        for (Camp camp : campIndex.getCampsOfStudent(studentID)) {
+            if (camp.hasCommitMember(studentID))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Join a camp with the given name, student ID, and role (student or committee
+     * member).
+     * The date clash check and the registration happen under the lock of the
+     * student, so concurrent joins cannot double-book the student.
+     *
+     * @param name      The name of the camp to join.
+     * @param studentID The ID of the student joining the camp.
+     * @param asCommit  True if joining as a committee member; False if joining as a
+     *                  student.
+     * @param condition The condition to filter camps for joining.
+     * @return An OperationResult indicating the success or failure of joining the
+     *         camp.
+     */
+    public OperationResult joinCamp(String name, String studentID, boolean asCommit, boolean isCommittee,
+            Predicate<Camp> condition) {
+        synchronized (studentLock(studentID)) {
+            Camp camp = getCamp(name, condition);
+            if (camp == null) {
+                return OperationResult.failure("No camp with the given name exists");
+            }
+            String clashCamp = clashDate(studentID, camp.getDate());
+            if (clashCamp != null)
+                return OperationResult.failure("You have already joined camp " + clashCamp + " on the same date");
+            if (asCommit && (isCommittee || isCommitMemberOfAnyCamp(studentID))) {
+                return OperationResult.failure("You are a committee member of another camp.");
+            }
+            if (asCommit) {
+                return camp.addCommitMember(studentID);
+            } else {
+                return camp.addStudent(studentID);
+            }
+        }
+    }
+
+    /**
+     * Quit a camp with the given name.
+     * The slot freed goes to the first student on the waitlist of the camp.
+     *
+     * @param name      The name of the camp to quit.
+     * @param studentID The ID of the student quitting the camp.
+     * @param condition The condition to filter camps for quitting.
+     * @return An OperationResult indicating the success or failure of quitting the
+     *         camp.
+     */
+    public OperationResult quitCamp(String name, String studentID, Predicate<Camp> condition) {
+        Camp camp;
+        synchronized (studentLock(studentID)) {
+            camp = getCamp(name, condition);
+            if (camp == null) {
+                return OperationResult.failure("No camp of given name");
+            }
+            OperationResult result = camp.removeStudent(studentID);
+            if (!result.isSuccess()) {
+                return result;
+            }
+        }
+        fillFromWaitList(camp);
+        return OperationResult.success();
+    }
+
+    /**
+     * Join the waitlist of a full camp with the given name, as a participant.
+     * A student cannot wait for a camp on the same date as a camp they joined.
+     *
+     * @param name      The name of the camp.
+     * @param studentID The ID of the student waiting.
+     * @param condition The condition to filter camps for joining.
+     * @return An OperationResult indicating the success or failure of joining the
+     *         waitlist.
+     */
+    public OperationResult joinWaitList(String name, String studentID, Predicate<Camp> condition) {
+        Camp camp;
+        OperationResult result;
+        synchronized (studentLock(studentID)) {
+            camp = getCamp(name, condition);
+            if (camp == null) {
+                return OperationResult.failure("No camp with the given name exists");
+            }
+            String clashCamp = clashDate(studentID, camp.getDate());
+            if (clashCamp != null)
+                return OperationResult.failure("You have already joined camp " + clashCamp + " on the same date");
+            result = camp.addToWaitList(studentID);
+        }
+        // a slot may have been freed since the camp was found full
+        fillFromWaitList(camp);
+        return result;
+    }
+
+    /**
+     * Leave the waitlist of a camp with the given name.
+     *
+     * @param name      The name of the camp.
+     * @param studentID The ID of the student waiting.
+     * @return An OperationResult indicating the success or failure of leaving the
+     *         waitlist.
+     */
+    public OperationResult leaveWaitList(String name, String studentID) {
+        synchronized (studentLock(studentID)) {
+            Camp camp = getCamp(name);
+            if (camp == null) {
+                return OperationResult.failure("No camp of given name");
+            }
+            return camp.removeFromWaitList(studentID);
+        }
+    }
+
+    /**
+     * Get the camps a student is waiting for.
+     *
+     * @param studentID The ID of the student.
+     * @return A List of the camps, ordered by name.
+     */
+    public List<Camp> getWaitListedCamps(String studentID) {
+        return sortByName(campIndex.getCampsWaitedBy(studentID), camp -> camp.isOnWaitList(studentID));
+    }
+
+    /**
+     * Give the free slots of a camp to the students on its waitlist, in order.
+     * Each student is promoted under their own lock, and is dropped from the
+     * waitlist instead if they have since joined a camp on the same date.
+     * Called after a student quits, and should be called after the slots of a
+     * camp are increased.
+     *
+     * @param camp The camp.
+     */
+    public void fillFromWaitList(Camp camp) {
+        while (camp.getRemainingSlots() > 0) {
+            String studentID = camp.peekWaitList();
+            if (studentID == null) {
+                return;
+            }
+            synchronized (studentLock(studentID)) {
+                if (clashDate(studentID, camp.getDate()) != null) {
+                    camp.removeFromWaitList(studentID);
+                    continue;
+                }
+                OperationResult result = camp.promoteFromWaitList(studentID);
+                if (!result.isSuccess() && camp.getRemainingSlots() <= 0) {
+                    return;
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
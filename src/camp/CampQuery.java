@@ -0,0 +1,337 @@
+package camp;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * CampQuery combines criteria on camps, all of which must hold.
+ * A query is compiled into a single predicate, and planned against the
+ * CampIndex by CampManager: the indexed criterion expected to match the fewest
+ * camps supplies the candidates, and the other criteria are applied to them
+ * as residual predicates. A query without any indexed criterion scans every
+ * camp.
+ * Criteria relative to today read the clock each time they are tested or
+ * looked up, so a query kept across days moves with the date, and camps whose
+ * registration has closed drop out of it without being rescanned.
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class CampQuery {
+
+    /**
+     * A criterion of a query, with the index that can look it up if there is one.
+     */
+    private static class Criterion {
+        private final String description;
+        private final Predicate<Camp> predicate;
+        // null if the criterion is not indexed
+        private final Function<CampIndex, Collection<Camp>> lookup;
+        // number of camps the lookup returns, without building the result
+        private final ToIntFunction<CampIndex> estimate;
+
+        private Criterion(String description, Predicate<Camp> predicate,
+                Function<CampIndex, Collection<Camp>> lookup, ToIntFunction<CampIndex> estimate) {
+            this.description = description;
+            this.predicate = predicate;
+            this.lookup = lookup;
+            this.estimate = estimate;
+        }
+    }
+
+    /**
+     * The plan of a query: the candidate camps and the predicate left to test on
+     * them.
+     */
+    static class Plan {
+        private final Collection<Camp> candidates;
+        private final Predicate<Camp> residual;
+        private final String index;
+
+        private Plan(Collection<Camp> candidates, Predicate<Camp> residual, String index) {
+            this.candidates = candidates;
+            this.residual = residual;
+            this.index = index;
+        }
+
+        /**
+         * Get the candidate camps.
+         *
+         * @return The camps looked up in the index, or null to scan every camp.
+         */
+        Collection<Camp> getCandidates() {
+            return candidates;
+        }
+
+        /**
+         * Get the predicate left to test on the candidates.
+         *
+         * @return The residual predicate.
+         */
+        Predicate<Camp> getResidual() {
+            return residual;
+        }
+
+        /**
+         * Get the criterion looked up in the index.
+         *
+         * @return The description of the criterion, or null for a scan.
+         */
+        String getIndex() {
+            return index;
+        }
+    }
+
+    private final List<Criterion> criteria = new ArrayList<>();
+    private Predicate<Camp> compiled = camp -> true;
+
+    /**
+     * Create a query matching every camp, criteria are added with the other
+     * methods.
+     */
+    public CampQuery() {
+    }
+
+    /**
+     * Match the camps created by a staff.
+     *
+     * @param creatorID The staff ID of the creator.
+     * @return This query.
+     */
+    public CampQuery createdBy(String creatorID) {
+        return add(new Criterion("created by " + creatorID, camp -> camp.getCreator().equals(creatorID),
+                index -> index.getCampsOfCreator(creatorID), index -> index.getCampsOfCreator(creatorID).size()));
+    }
+
+    /**
+     * Match the camps held between two dates.
+     *
+     * @param from The first date, included.
+     * @param to   The last date, included.
+     * @return This query.
+     */
+    public CampQuery heldBetween(LocalDate from, LocalDate to) {
+        String description = from.equals(to) ? "held on " + from : "held from " + from + " to " + to;
+        return add(new Criterion(description, camp -> !camp.getDate().isBefore(from) && !camp.getDate().isAfter(to),
+                index -> index.getCampsBetween(from, to), index -> index.countCampsBetween(from, to)));
+    }
+
+    /**
+     * Match the camps held from today to a number of days from today.
+     *
+     * @param days The number of days after today, 0 for today only.
+     * @return This query.
+     */
+    public CampQuery heldInNextDays(int days) {
+        return heldInNextDays(days, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Match the camps held from today to a number of days from today, as told
+     * by a clock.
+     *
+     * @param days  The number of days after today, 0 for today only.
+     * @param clock The clock giving today.
+     * @return This query.
+     */
+    public CampQuery heldInNextDays(int days, Clock clock) {
+        return add(new Criterion("held in the next " + days + " days", camp -> {
+            LocalDate today = LocalDate.now(clock);
+            return !camp.getDate().isBefore(today) && !camp.getDate().isAfter(today.plusDays(days));
+        }, index -> {
+            LocalDate today = LocalDate.now(clock);
+            return index.getCampsBetween(today, today.plusDays(days));
+        }, index -> {
+            LocalDate today = LocalDate.now(clock);
+            return index.countCampsBetween(today, today.plusDays(days));
+        }));
+    }
+
+    /**
+     * Match the camps still open for registration today, those whose closure
+     * date has not passed.
+     *
+     * @return This query.
+     */
+    public CampQuery openForRegistration() {
+        return openForRegistration(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Match the camps still open for registration today, as told by a clock.
+     *
+     * @param clock The clock giving today.
+     * @return This query.
+     */
+    public CampQuery openForRegistration(Clock clock) {
+        return add(new Criterion("open for registration",
+                camp -> !camp.getClosureDate().isBefore(LocalDate.now(clock)),
+                index -> index.getCampsOpenOn(LocalDate.now(clock)),
+                index -> index.countCampsOpenOn(LocalDate.now(clock))));
+    }
+
+    /**
+     * Match the camps of a faculty.
+     *
+     * @param faculty The faculty of the camps.
+     * @return This query.
+     */
+    public CampQuery inFaculty(String faculty) {
+        return add(new Criterion("in faculty " + faculty, camp -> camp.getFaculty().equals(faculty),
+                index -> index.getCampsOfFaculty(faculty), index -> index.getCampsOfFaculty(faculty).size()));
+    }
+
+    /**
+     * Match the camps held at a location.
+     *
+     * @param location The location of the camps.
+     * @return This query.
+     */
+    public CampQuery atLocation(String location) {
+        return add(new Criterion("in location " + location, camp -> camp.getLocation().equals(location),
+                index -> index.getCampsOfLocation(location), index -> index.getCampsOfLocation(location).size()));
+    }
+
+    /**
+     * Match the camps a student is registered for.
+     *
+     * @param studentID The ID of the student.
+     * @return This query.
+     */
+    public CampQuery withStudent(String studentID) {
+        return add(new Criterion("joined by " + studentID, camp -> camp.hasStudent(studentID),
+                index -> index.getCampsOfStudent(studentID), index -> index.getCampsOfStudent(studentID).size()));
+    }
+
+    /**
+     * Match the camps with a slot left for a participant.
+     *
+     * @return This query.
+     */
+    public CampQuery withFreeSlots() {
+        return add(new Criterion("with free slots", camp -> camp.getRemainingSlots() > 0, null, null));
+    }
+
+    /**
+     * Match the camps visible to students.
+     *
+     * @return This query.
+     */
+    public CampQuery visibleOnly() {
+        return add(new Criterion("visible", Camp::isVisible, null, null));
+    }
+
+    /**
+     * Match the camps satisfying any other condition, always applied as a
+     * residual predicate.
+     *
+     * @param description The description of the condition.
+     * @param condition   The condition.
+     * @return This query.
+     */
+    public CampQuery where(String description, Predicate<Camp> condition) {
+        return add(new Criterion(description, condition, null, null));
+    }
+
+    private CampQuery add(Criterion criterion) {
+        criteria.add(criterion);
+        compiled = compile(criteria, null);
+        return this;
+    }
+
+    /**
+     * Check if the query has no criterion and matches every camp.
+     *
+     * @return True if the query matches every camp.
+     */
+    public boolean isEmpty() {
+        return criteria.isEmpty();
+    }
+
+    /**
+     * Get the query as a single predicate, testing every criterion.
+     *
+     * @return The predicate.
+     */
+    public Predicate<Camp> toPredicate() {
+        return compiled;
+    }
+
+    /**
+     * Describe the criteria of the query.
+     *
+     * @return The description, eg "in faculty SCSE and with free slots".
+     */
+    public String getDescription() {
+        if (criteria.isEmpty()) {
+            return "All camps";
+        }
+        StringBuilder description = new StringBuilder();
+        for (Criterion criterion : criteria) {
+            if (description.length() > 0) {
+                description.append(" and ");
+            }
+            description.append(criterion.description);
+        }
+        return description.toString();
+    }
+
+    /**
+     * Plan the query: look up the indexed criterion matching the fewest camps
+     * and test the others on its camps.
+     *
+     * @param campIndex The indexes of camps.
+     * @return The plan of the query.
+     */
+    Plan plan(CampIndex campIndex) {
+        Criterion best = null;
+        int bestEstimate = Integer.MAX_VALUE;
+        for (Criterion criterion : criteria) {
+            if (criterion.lookup == null) {
+                continue;
+            }
+            int estimate = criterion.estimate.applyAsInt(campIndex);
+            if (estimate < bestEstimate) {
+                best = criterion;
+                bestEstimate = estimate;
+            }
+        }
+        if (best == null) {
+            return new Plan(null, compiled, null);
+        }
+        return new Plan(best.lookup.apply(campIndex), compile(criteria, best), best.description);
+    }
+
+    /**
+     * Combine criteria into one predicate, skipping the one looked up in an index.
+     */
+    private static Predicate<Camp> compile(List<Criterion> criteria, Criterion skipped) {
+        List<Predicate<Camp>> predicates = new ArrayList<>(criteria.size());
+        for (Criterion criterion : criteria) {
+            if (criterion != skipped) {
+                predicates.add(criterion.predicate);
+            }
+        }
+        if (predicates.isEmpty()) {
+            return camp -> true;
+        }
+        if (predicates.size() == 1) {
+            return predicates.get(0);
+        }
+        return camp -> {
+            for (Predicate<Camp> predicate : predicates) {
+                if (!predicate.test(camp)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+}
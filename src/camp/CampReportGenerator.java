@@ -1,77 +1,342 @@
-package camp;
-
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.util.HashSet;
-
-/**
- * CampReportGenerator class is responsible for generating and writing camp
- * reports to files.
- * It provides methods to write lists of camp attendees and committee members to
- * separate files.
- * 
- * @author group1
- * @version 1.0
- * @since 24 nov 2023
- */
-public class CampReportGenerator {
-
-    /**
-     * Enumeration representing the write options for generating camp reports.
-     */
-    public enum WriteOption {
-        ONLY_ATTENDEE, // Write only attendee list
-        ONLY_COMMITTEE, // Write only committee member list
-        BOTH // Write both attendee and committee member lists
-    }
-
-    // The directory path where camp reports will be saved.
-    public static final String FILE_PATH = "CampReport";
-
-    /**
-     * Write the list of students attending a camp to a file, based on the specified
-     * write option.
-     *
-     * @param camp   The camp for which the list is generated.
-     * @param option The write option to determine which list to generate.
-     */
-    public static void writeStudentListToFile(Camp camp, WriteOption option) {
-        // Create a directory if it doesn't exist
-        File directory = new File(FILE_PATH);
-        if (!directory.exists()) {
-            directory.mkdirs();
-        }
-        String fileName = FILE_PATH + "/" + camp.getName() + "_StudentList_generatedbyStaff.txt";
-        HashSet<String> studentList = camp.getStudentList();
-        File file = new File(fileName);
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            for (String studentID : studentList) {
-                boolean isCommittee = camp.hasCommitMember(studentID);
-                switch (option) {
-                    case ONLY_ATTENDEE:
-                        if (isCommittee)
-                            continue;
-                        break;
-                    case ONLY_COMMITTEE:
-                        if (!isCommittee)
-                            continue;
-                        break;
-                    case BOTH:
-                        break;
-                }
-                writer.write(studentID);
-                writer.write("|");
-                if (camp.hasCommitMember(studentID)) {
-                    writer.write("committee");
-                } else {
-                    writer.write("attendee");
-                }
-                writer.newLine();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-}
\ No newline at end of file
+package camp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CampReportGenerator class is responsible for generating and writing camp
+ * reports to files.
+ * It provides methods to write lists of camp attendees and committee members to
+ * separate files, for one camp or for many camps at once.
+ * Reports of many camps are written in parallel by a bounded number of
+ * workers, each streaming its rows through a buffer it reuses for every
+ * report it writes.
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class CampReportGenerator {
+
+    /**
+     * Enumeration representing the write options for generating camp reports.
+     */
+    public enum WriteOption {
+        ONLY_ATTENDEE, // Write only attendee list
+        ONLY_COMMITTEE, // Write only committee member list
+        BOTH // Write both attendee and committee member lists
+    }
+
+    /**
+     * Summary of a bulk report run.
+     */
+    public static class Summary {
+        private final int camps;
+        private final int failed;
+        private final long rows;
+        private final long bytes;
+        private final long elapsedMillis;
+
+        private Summary(int camps, int failed, long rows, long bytes, long elapsedMillis) {
+            this.camps = camps;
+            this.failed = failed;
+            this.rows = rows;
+            this.bytes = bytes;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * Get the number of camps whose report was written.
+         *
+         * @return The number of reports written.
+         */
+        public int getCamps() {
+            return camps;
+        }
+
+        /**
+         * Get the number of camps whose report could not be written.
+         *
+         * @return The number of reports that failed.
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * Get the number of rows written in all reports.
+         *
+         * @return The number of rows.
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * Get the number of bytes written in all reports.
+         *
+         * @return The number of bytes.
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Get the time taken to write all reports.
+         *
+         * @return The time in milliseconds.
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return camps + " reports written, " + failed + " failed, " + rows + " rows, " + bytes + " bytes in "
+                    + elapsedMillis + " ms";
+        }
+    }
+
+    // The directory path where camp reports will be saved.
+    public static final String FILE_PATH = "CampReport";
+    // The summary of the last bulk report run
+    public static final String SUMMARY_FILE = FILE_PATH + "/ReportSummary.txt";
+    // Most workers used by a bulk report run
+    public static final int MAX_WORKERS = 8;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FIELD_SEPARATOR = "|".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] COMMITTEE = "committee".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ATTENDEE = "attendee".getBytes(StandardCharsets.UTF_8);
+
+    // each thread writing reports reuses one buffer for all of them
+    private static final ThreadLocal<ReportWriter> writers = ThreadLocal.withInitial(ReportWriter::new);
+    private static final AtomicInteger workerCount = new AtomicInteger();
+
+    /**
+     * Streams the rows of a report to its file through a reusable buffer.
+     */
+    private static class ReportWriter {
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        private FileChannel channel;
+        private long bytes;
+
+        private void open(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.clear();
+            bytes = 0;
+        }
+
+        private void write(byte[] data) throws IOException {
+            if (data.length > buffer.remaining()) {
+                drain();
+                if (data.length > buffer.capacity()) {
+                    writeFully(ByteBuffer.wrap(data));
+                    return;
+                }
+            }
+            buffer.put(data);
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+
+        private void writeFully(ByteBuffer data) throws IOException {
+            while (data.hasRemaining()) {
+                bytes += channel.write(data);
+            }
+        }
+
+        /**
+         * Write the rows left in the buffer and close the file
+         *
+         * @return The number of bytes written to the file.
+         */
+        private long close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+                channel = null;
+            }
+            return bytes;
+        }
+
+        private void abort() {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                // the report is already failing
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Write the list of students attending a camp to a file, based on the specified
+     * write option.
+     *
+     * @param camp   The camp for which the list is generated.
+     * @param option The write option to determine which list to generate.
+     */
+    public static void writeStudentListToFile(Camp camp, WriteOption option) {
+        createDirectory();
+        try {
+            writeReport(camp, option, new long[2]);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Write the list of students of many camps, each to its own file, and a
+     * summary of the run to SUMMARY_FILE.
+     * The reports are written in parallel by at most MAX_WORKERS workers.
+     *
+     * @param camps  The camps for which the lists are generated, eg all camps or
+     *               those selected by a CampFilter.
+     * @param option The write option to determine which lists to generate.
+     * @return The summary of the run.
+     */
+    public static Summary writeStudentListsToFiles(Collection<Camp> camps, WriteOption option) {
+        createDirectory();
+        long start = System.nanoTime();
+        int workers = Math.max(1, Math.min(camps.size(), Math.min(MAX_WORKERS,
+                Runtime.getRuntime().availableProcessors())));
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "CAMs-report-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Camp> ordered = new ArrayList<>(camps);
+        List<Future<long[]>> results = new ArrayList<>(ordered.size());
+        try {
+            for (Camp camp : ordered) {
+                results.add(executor.submit(() -> {
+                    // rows and bytes of the report
+                    long[] counts = new long[2];
+                    writeReport(camp, option, counts);
+                    return counts;
+                }));
+            }
+
+            List<String> lines = new ArrayList<>(ordered.size() + 1);
+            int written = 0;
+            int failed = 0;
+            long rows = 0;
+            long bytes = 0;
+            for (int i = 0; i < ordered.size(); i++) {
+                String name = ordered.get(i).getName();
+                try {
+                    long[] counts = results.get(i).get();
+                    written++;
+                    rows += counts[0];
+                    bytes += counts[1];
+                    lines.add(name + "|" + counts[0] + "|" + counts[1]);
+                } catch (ExecutionException e) {
+                    failed++;
+                    lines.add(name + "|FAILED|" + e.getCause().getMessage());
+                }
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1000000;
+            Summary summary = new Summary(written, failed, rows, bytes, elapsedMillis);
+            lines.add("TOTAL|" + written + "|" + failed + "|" + rows + "|" + bytes + "|" + elapsedMillis + "ms");
+            writeSummary(lines);
+            return summary;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Summary(0, ordered.size(), 0, 0, (System.nanoTime() - start) / 1000000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Write the report of one camp with the buffer of the current thread.
+     *
+     * @param camp   The camp for which the list is generated.
+     * @param option The write option to determine which list to generate.
+     * @param counts Receives the number of rows and of bytes written.
+     * @throws IOException If an error occurs when writing the report.
+     */
+    private static void writeReport(Camp camp, WriteOption option, long[] counts) throws IOException {
+        List<String> studentList;
+        HashSet<String> commitList;
+        String name;
+        // one copy of the camp, instead of taking its lock for every row
+        synchronized (camp) {
+            name = camp.getName();
+            studentList = new ArrayList<>(camp.getStudentSet());
+            commitList = new HashSet<>(camp.getCommitList());
+        }
+
+        ReportWriter writer = writers.get();
+        writer.open(Paths.get(FILE_PATH, name + "_StudentList_generatedbyStaff.txt"));
+        long rows = 0;
+        try {
+            for (String studentID : studentList) {
+                boolean isCommittee = commitList.contains(studentID);
+                if ((option == WriteOption.ONLY_ATTENDEE && isCommittee)
+                        || (option == WriteOption.ONLY_COMMITTEE && !isCommittee)) {
+                    continue;
+                }
+                writer.write(studentID.getBytes(StandardCharsets.UTF_8));
+                writer.write(FIELD_SEPARATOR);
+                writer.write(isCommittee ? COMMITTEE : ATTENDEE);
+                writer.write(LINE_SEPARATOR);
+                rows++;
+            }
+        } catch (IOException e) {
+            writer.abort();
+            throw e;
+        }
+        counts[0] = rows;
+        counts[1] = writer.close();
+    }
+
+    private static void writeSummary(List<String> lines) {
+        ReportWriter writer = writers.get();
+        try {
+            writer.open(Paths.get(SUMMARY_FILE));
+            for (String line : lines) {
+                writer.write(line.getBytes(StandardCharsets.UTF_8));
+                writer.write(LINE_SEPARATOR);
+            }
+            writer.close();
+        } catch (IOException e) {
+            writer.abort();
+            System.out.println("IOException while saving the report summary: " + e.getMessage());
+        }
+    }
+
+    private static void createDirectory() {
+        // Create a directory if it doesn't exist
+        File directory = new File(FILE_PATH);
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+    }
+}
@@ -1,54 +1,241 @@
-package camp;
-
-import java.io.*;
-import java.util.TreeMap;
-
-/**
- * CampSaver class is responsible for saving and loading camp data to/from a file.
- * It provides methods to serialize and deserialize a TreeMap of camps.
- * @author group1
- * @version 1.0
- * @since 24 nov 2023
- */
-public class CampSaver {
-    // The file path where camp data will be stored.
-    private static final String FILE_PATH = "System/camps.txt";
-
-    /**
-     * Save a TreeMap of camps to a file.
-     *
-     * @param campTreeMap The TreeMap containing camp data to be saved.
-     */
-    public static void saveCamps(TreeMap<String, Camp> campTreeMap) {
-        // Create a directory if it doesn't exist
-        File directory = new File("System");
-        if (!directory.exists()) {
-            directory.mkdirs();
-        }
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(FILE_PATH))) {
-            out.writeObject(campTreeMap);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    /**
-     * Load a TreeMap of camps from a file.
-     *
-     * @return A TreeMap containing the loaded camp data, or an empty TreeMap if loading fails.
-     */
-    public static TreeMap<String, Camp> loadCamps() {
-        // Create a directory if it doesn't exist
-        File directory = new File("System");
-        if (!directory.exists()) {
-            directory.mkdirs();
-            return new TreeMap<>();
-        }
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(FILE_PATH))) {
-            return (TreeMap<String, Camp>) in.readObject();
-        } catch (IOException | ClassNotFoundException e) {
-            e.printStackTrace();
-        }
-        return new TreeMap<>();
-    }
-}
\ No newline at end of file
+package camp;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.TreeMap;
+
+/**
+ * CampSaver class is responsible for saving and loading camp data to/from a file.
+ * Camps are saved in the compact binary format of CampCodec. Files saved with
+ * Java serialization by earlier versions are still loaded, and are converted
+ * on the next save.
+ * Between full saves, camps changed since the last save are written one file
+ * per camp to a segment store, which is laid over the full save on load.
+ * Every full save is numbered by a generation, written before the camps as
+ * GENERATION_MAGIC and the generation. A segment starts with STAMPED and the
+ * generation of the last full save, then LIVE followed by the encoded camp, or
+ * REMOVED followed by the name of a camp removed or renamed. Segments older
+ * than the full save are left over from a save cut off before it deleted
+ * them, and are skipped, so they cannot roll camps back. Files and segments
+ * written before generations are of generation 0.
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class CampSaver {
+    // The file path where camp data will be stored.
+    private static final String FILE_PATH = "System/camps.txt";
+    private static final String TEMP_FILE_PATH = FILE_PATH + ".tmp";
+    // The directory of the segments written between full saves.
+    private static final String SEGMENT_PATH = "System/segments";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final byte REMOVED = 0;
+    private static final byte LIVE = 1;
+    private static final byte STAMPED = 2;
+    private static final int GENERATION_MAGIC = 0x43414D47;
+    private static final int GENERATION_HEADER = Integer.BYTES + Long.BYTES;
+
+    // The generation of the last full save loaded or written, stamped on segments
+    private static volatile long generation;
+
+    /**
+     * Save a TreeMap of camps to a file, as the next generation.
+     * The segments are deleted afterwards as the file now holds every change,
+     * those left by a crash in between are skipped on load as older.
+     *
+     * @param campTreeMap The TreeMap containing camp data to be saved.
+     */
+    public static void saveCamps(TreeMap<String, Camp> campTreeMap) {
+        // Create a directory if it doesn't exist
+        File directory = new File("System");
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+        try {
+            // past the file on disk too, in case it was saved without being loaded
+            long next = Math.max(generation, savedGeneration()) + 1;
+            byte[] encoded = CampCodec.encode(campTreeMap.values());
+            ByteBuffer data = ByteBuffer.allocate(GENERATION_HEADER + encoded.length);
+            data.putInt(GENERATION_MAGIC).putLong(next).put(encoded);
+            Files.write(Paths.get(TEMP_FILE_PATH), data.array());
+            Files.move(Paths.get(TEMP_FILE_PATH), Paths.get(FILE_PATH), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            generation = next;
+            clearSegments();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Save a single changed camp to the segment store.
+     *
+     * @param camp The camp to save.
+     */
+    static void saveCampSegment(Camp camp) {
+        byte[] encoded = CampCodec.encode(Collections.singletonList(camp));
+        writeSegment(camp.getName(), LIVE, encoded);
+    }
+
+    /**
+     * Record in the segment store that a camp has been removed or renamed.
+     *
+     * @param name The name the camp is no longer saved under.
+     */
+    static void saveRemovedCampSegment(String name) {
+        writeSegment(name, REMOVED, name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeSegment(String name, byte kind, byte[] content) {
+        ByteBuffer segment = ByteBuffer.allocate(1 + Long.BYTES + 1 + content.length);
+        segment.put(STAMPED).putLong(generation).put(kind).put(content);
+        try {
+            Path directory = Paths.get(SEGMENT_PATH);
+            Files.createDirectories(directory);
+            Path path = directory.resolve(segmentName(name));
+            Path temp = directory.resolve(segmentName(name) + ".tmp");
+            Files.write(temp, segment.array());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Get the file name of the segment of a camp, camp names may contain any
+     * character so they are hashed.
+     *
+     * @param name The name of the camp.
+     * @return The file name of the segment.
+     */
+    private static String segmentName(String name) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(name.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2 + SEGMENT_SUFFIX.length());
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.append(SEGMENT_SUFFIX).toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Lay the segments over the camps loaded from the full save, deleting the
+     * segments older than it.
+     *
+     * @param camps The camps loaded from the full save.
+     * @throws IOException If a segment cannot be read.
+     */
+    private static void applySegments(TreeMap<String, Camp> camps) throws IOException {
+        Path directory = Paths.get(SEGMENT_PATH);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : segments) {
+                byte[] segment = Files.readAllBytes(path);
+                if (segment.length == 0) {
+                    continue;
+                }
+                long written = 0;
+                int start = 0;
+                if (segment[0] == STAMPED) {
+                    written = ByteBuffer.wrap(segment, 1, Long.BYTES).getLong();
+                    start = 1 + Long.BYTES;
+                }
+                if (written < generation) {
+                    Files.deleteIfExists(path);
+                    continue;
+                }
+                if (segment[start] == REMOVED) {
+                    camps.remove(new String(segment, start + 1, segment.length - start - 1,
+                            StandardCharsets.UTF_8));
+                } else {
+                    camps.putAll(CampCodec.decode(Arrays.copyOfRange(segment, start + 1, segment.length)));
+                }
+            }
+        }
+    }
+
+    private static void clearSegments() throws IOException {
+        Path directory = Paths.get(SEGMENT_PATH);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory)) {
+            for (Path path : segments) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static long savedGeneration() throws IOException {
+        Path file = Paths.get(FILE_PATH);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            return in.readInt() == GENERATION_MAGIC ? in.readLong() : 0;
+        } catch (EOFException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Load a TreeMap of camps from a file.
+     *
+     * @return A TreeMap containing the loaded camp data, or an empty TreeMap if loading fails.
+     */
+    public static TreeMap<String, Camp> loadCamps() {
+        // Create a directory if it doesn't exist
+        File directory = new File("System");
+        if (!directory.exists()) {
+            directory.mkdirs();
+            return new TreeMap<>();
+        }
+        TreeMap<String, Camp> camps = new TreeMap<>();
+        generation = 0;
+        try {
+            if (Files.exists(Paths.get(FILE_PATH))) {
+                byte[] data = Files.readAllBytes(Paths.get(FILE_PATH));
+                if (data.length >= GENERATION_HEADER && ByteBuffer.wrap(data).getInt() == GENERATION_MAGIC) {
+                    generation = ByteBuffer.wrap(data).getLong(Integer.BYTES);
+                    data = Arrays.copyOfRange(data, GENERATION_HEADER, data.length);
+                }
+                camps = CampCodec.isEncoded(data) ? CampCodec.decode(data)
+                        : loadSerializedCamps(new ByteArrayInputStream(data));
+            }
+            applySegments(camps);
+        } catch (IOException | ClassNotFoundException e) {
+            e.printStackTrace();
+        }
+        return camps;
+    }
+
+    /**
+     * Load camps saved with Java serialization by earlier versions.
+     *
+     * @param in The stream of the file content.
+     * @return A TreeMap containing the loaded camp data.
+     * @throws IOException            If an error occurs when reading.
+     * @throws ClassNotFoundException If the file contains unknown classes.
+     */
+    @SuppressWarnings("unchecked")
+    private static TreeMap<String, Camp> loadSerializedCamps(InputStream in)
+            throws IOException, ClassNotFoundException {
+        return (TreeMap<String, Camp>) new ObjectInputStream(in).readObject();
+    }
+}
@@ -0,0 +1,101 @@
+package camsApp;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import camp.CampManager;
+import enquiry.EnquiryManager;
+import suggestion.SuggestionManager;
+import user.StaffManager;
+import user.StudentManager;
+import utils.SessionIO;
+
+/**
+ * Server mode of our system
+ * Serves many CAMs sessions in one process, one thread per connection on a
+ * local socket. Every session runs the same login and menus as the console,
+ * with its input and output routed to its own connection.
+ * Connect with any line based client, eg telnet localhost 5000
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class CAMsServer {
+	public static final int DEFAULT_PORT = 5000;
+
+	private static final AtomicInteger sessionCount = new AtomicInteger();
+
+	/**
+	 * Private constructor to prevent instantiation of CAMsServer
+	 */
+	private CAMsServer() {
+	}
+
+	/**
+	 * Accept connections on the loopback address and serve a session for each
+	 * of them until the process is stopped. All data is saved on shutdown.
+	 *
+	 * @param port the port to listen on
+	 */
+	public static void serve(int port) {
+		// load every manager before the first session needs them
+		StartupLoader.loadAll();
+
+		SessionIO.install();
+		Runtime.getRuntime().addShutdownHook(new Thread(CAMsServer::saveAll));
+
+		// one thread per session, sessions spend most of their time waiting for input
+		ExecutorService sessions = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "CAMs-session-" + sessionCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+			System.out.println("CAMs server listening on port " + port);
+			while (true) {
+				Socket socket = server.accept();
+				sessions.execute(() -> serveSession(socket));
+			}
+		} catch (IOException e) {
+			System.out.println("IOException in CAMs server: " + e.getMessage());
+		} finally {
+			sessions.shutdownNow();
+		}
+	}
+
+	/**
+	 * Run a session with its input and output routed to the connection
+	 *
+	 * @param socket the connection of the session
+	 */
+	private static void serveSession(Socket socket) {
+		try (Socket connection = socket) {
+			SessionIO.bind(connection.getInputStream(), new BufferedOutputStream(connection.getOutputStream()));
+			CAMsApp.runSession();
+		} catch (IOException | NoSuchElementException | IllegalStateException e) {
+			// the client has disconnected
+		} finally {
+			SessionIO.unbind();
+		}
+	}
+
+	/**
+	 * Save the data held by every manager
+	 */
+	private static void saveAll() {
+		CampManager.getInstance().saveCamps();
+		StudentManager.getInstance().save();
+		StaffManager.getInstance().saveStaffsTxt();
+		EnquiryManager.getInstance().save();
+		SuggestionManager.getInstance().save();
+	}
+}
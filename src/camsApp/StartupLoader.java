@@ -0,0 +1,97 @@
+package camsApp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import camp.CampManager;
+import enquiry.EnquiryManager;
+import suggestion.SuggestionManager;
+import user.StaffManager;
+import user.StudentManager;
+
+/**
+ * Loads every manager at startup, reading their stores at the same time on a
+ * small pool, so a cold start takes about as long as the largest store
+ * instead of all of them one after the other, and no menu stalls the first
+ * time it needs a manager.
+ * Enquiries and suggestions saved before they recorded the ID of their
+ * author look up the author in the students, their load time then includes
+ * waiting for the students to be loaded.
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+final class StartupLoader {
+	private static final AtomicInteger loaderCount = new AtomicInteger();
+
+	/**
+	 * Private constructor to prevent instantiation of StartupLoader
+	 */
+	private StartupLoader() {
+	}
+
+	/**
+	 * Load every manager and wait until all of them are built, then print how
+	 * long each store took
+	 *
+	 * @return the load time of each store in milliseconds, by name
+	 */
+	static Map<String, Long> loadAll() {
+		Map<String, Callable<?>> stores = new LinkedHashMap<>();
+		stores.put("students", StudentManager::getInstance);
+		stores.put("staff", StaffManager::getInstance);
+		stores.put("camps", CampManager::getInstance);
+		stores.put("enquiries", EnquiryManager::getInstance);
+		stores.put("suggestions", SuggestionManager::getInstance);
+
+		// one thread per store, reading a store is partly waiting for the disk
+		ExecutorService pool = Executors.newFixedThreadPool(stores.size(), runnable -> {
+			Thread thread = new Thread(runnable, "CAMs-loader-" + loaderCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		long start = System.nanoTime();
+		List<Future<Long>> loads = new ArrayList<>(stores.size());
+		for (Callable<?> store : stores.values()) {
+			loads.add(pool.submit(() -> {
+				long storeStart = System.nanoTime();
+				store.call();
+				return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - storeStart);
+			}));
+		}
+
+		Map<String, Long> times = new LinkedHashMap<>();
+		StringBuilder report = new StringBuilder("Loaded");
+		int i = 0;
+		try {
+			for (String name : stores.keySet()) {
+				try {
+					long millis = loads.get(i++).get();
+					times.put(name, millis);
+					report.append(' ').append(name).append(' ').append(millis).append(" ms,");
+				} catch (ExecutionException e) {
+					// the manager is loaded again the first time it is needed
+					System.out.println("Error while loading " + name + ": " + e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			pool.shutdown();
+		}
+		report.append(" total ").append(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).append(" ms");
+		System.out.println(report);
+		return times;
+	}
+}
@@ -1,74 +1,155 @@
-package enquiry;
-
-
-/**
- * Enquiry raised by the students
- * contains the attributes of an enquiry
- * @author group1
- * @version 1.0
- * @since 24 nov 2023
- */
-public class Enquiry {
-    private String campName;
-    private String content;
-    private String reply;
-    private String madeBy;
-
-    
-    /**
-     * @param campName name of the camp
-     * @param content the description of the Enquiry
-     * @param reply of the enquiry by the student committee or staff
-     * @param madeBy the author of the enquiry
-
-     */
-
-    public Enquiry(String campName, String content, String reply, String madeBy) {
-        this.campName = campName;
-        this.content = content;
-        this.reply = reply;
-        this.madeBy = madeBy;
-    }
-    
-    
-    /**
-     * Retrieve the name of the camp the enquiry is for
-     * @return the name of the camp
-     */
-    public String getCampName() {
-        return campName;
-    }
-
-    /**
-    * Retrieve the description of the Enquiry
-    * @return the description of the Enquiry
-    */
-    public String getContent() {
-        return content;
-    }
-
-    /**
-    * Retrieve the reply of the Enquiry
-    * @return the reply of the Enquiry
-    */
-    public String getReply() {
-        return reply;
-    }
-
-    /**
-    * Retrieve the owner of the Enquiry
-    * @return the owner of the Enquiry
-    */
-    public String getMadeBy() {
-        return madeBy;
-    }
-
-    /**
-     * Set the reply of the enquiry
-     * @param reply , the reply string of the enquiry
-     */
-    public void setReply(String reply) {
-        this.reply = reply;
-    }
-
+package enquiry;
+
+
+/**
+ * Enquiry raised by the students
+ * contains the attributes of an enquiry
+ * Each enquiry has a numeric ID that never changes once assigned, and records
+ * the ID of its author as well as their name
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class Enquiry {
+    // Reply of an enquiry that has not been answered yet
+    public static final String NO_REPLY = "NO_REPLY";
+    // ID of an enquiry read from a file saved before enquiries had IDs
+    public static final int NO_ID = -1;
+
+    private int id;
+    private String campName;
+    private String content;
+    private String reply;
+    private String madeBy;
+    private String madeByID;
+
+    
+    /**
+     * @param id the ID of the enquiry
+     * @param campName name of the camp
+     * @param content the description of the Enquiry
+     * @param reply of the enquiry by the student committee or staff
+     * @param madeBy the name of the author of the enquiry
+     * @param madeByID the student ID of the author, or null if it is not known
+     */
+    public Enquiry(int id, String campName, String content, String reply, String madeBy, String madeByID) {
+        this.id = id;
+        this.campName = campName;
+        this.content = content;
+        this.reply = reply;
+        this.madeBy = madeBy;
+        this.madeByID = madeByID;
+    }
+
+    /**
+     * Create an enquiry whose author ID is not known, as read from a file saved
+     * before enquiries recorded it
+     * @param id the ID of the enquiry
+     * @param campName name of the camp
+     * @param content the description of the Enquiry
+     * @param reply of the enquiry by the student committee or staff
+     * @param madeBy the name of the author of the enquiry
+     */
+    public Enquiry(int id, String campName, String content, String reply, String madeBy) {
+        this(id, campName, content, reply, madeBy, null);
+    }
+    
+    /**
+     * Create an enquiry without an ID, one is assigned when it is added to the EnquiryManager
+     * @param campName name of the camp
+     * @param content the description of the Enquiry
+     * @param reply of the enquiry by the student committee or staff
+     * @param madeBy the author of the enquiry
+     */
+    public Enquiry(String campName, String content, String reply, String madeBy) {
+        this(NO_ID, campName, content, reply, madeBy);
+    }
+    
+    
+    /**
+     * Retrieve the ID of the enquiry
+     * @return the ID, or NO_ID if none has been assigned yet
+     */
+    public int getID() {
+        return id;
+    }
+
+    /**
+     * Assign the ID of an enquiry that has none
+     * @param id the ID
+     */
+    void assignID(int id) {
+        if (this.id != NO_ID) {
+            throw new IllegalStateException("Enquiry " + this.id + " already has an ID");
+        }
+        this.id = id;
+    }
+
+    /**
+     * Retrieve the name of the camp the enquiry is for
+     * @return the name of the camp
+     */
+    public String getCampName() {
+        return campName;
+    }
+
+    /**
+    * Retrieve the description of the Enquiry
+    * @return the description of the Enquiry
+    */
+    public String getContent() {
+        return content;
+    }
+
+    /**
+    * Retrieve the reply of the Enquiry
+    * @return the reply of the Enquiry
+    */
+    public String getReply() {
+        return reply;
+    }
+
+    /**
+    * Retrieve the owner of the Enquiry
+    * @return the owner of the Enquiry
+    */
+    public String getMadeBy() {
+        return madeBy;
+    }
+
+    /**
+    * Retrieve the student ID of the owner of the Enquiry
+    * @return the student ID, or null if it is not known
+    */
+    public String getMadeByID() {
+        return madeByID;
+    }
+
+    /**
+     * Record the student ID of the owner of an enquiry that has none
+     * @param madeByID the student ID
+     */
+    void assignMadeByID(String madeByID) {
+        if (this.madeByID != null) {
+            throw new IllegalStateException("Enquiry " + id + " already has an author ID");
+        }
+        this.madeByID = madeByID;
+    }
+
+    /**
+     * Set the reply of the enquiry
+     * @param reply , the reply string of the enquiry
+     */
+    public void setReply(String reply) {
+        this.reply = reply;
+    }
+
+    /**
+     * Check if the enquiry has been answered
+     * @return true if the enquiry has a reply
+     */
+    public boolean isAnswered() {
+        return !reply.equals(NO_REPLY);
+    }
+
 }
\ No newline at end of file
@@ -1,133 +1,336 @@
-package enquiry;
-
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-import user.Student;
-
-/**
- * This class serves as an abstraction that handles the reading of data from
- * enquiries.txt Database
- * 
- * @author group1
- * @version 1.0
- * @since 24 nov 2023
- */
-public class EnquiryManager {
-    private List<Enquiry> enquiries = new ArrayList<>();
-    private static EnquiryManager instance;
-
-    /**
-     * Reads from enquires.txt. Handles any exception caused when reading
-     */
-    private EnquiryManager() {
-        try {
-            this.enquiries = EnquiryTextDB.readEnquiries("enquiries.txt");
-        } catch (IOException e) {
-            System.out.println("IOException while reading enquiries: " + e.getMessage());
-            // continuing with an empty list.
-            this.enquiries = new ArrayList<>();
-        }
-    }
-
-    /**
-     * Allow other class to get the Instance of EnquiryManager
-     * 
-     * @return the instance of the EnquiryManager
-     */
-    public static EnquiryManager getInstance() {
-        if (instance == null) {
-            instance = new EnquiryManager();
-        }
-        return instance;
-    }
-
-    /**
-     * Allow other class to retrieve the List of Enquiry
-     * 
-     * @return the list of Enquiry object
-     */
-    public List<Enquiry> getEnquiries() {
-        return enquiries;
-    }
-
-    /**
-     * Retrieves all the enquiries for a specific camp
-     * 
-     * @param campName the name of the camp
-     */
-    public void listAllCampEnquiriesByIndex(String campName) {
-        System.out.println("Enquires for " + campName + ":");
-        for (Enquiry enquiry : enquiries) {
-            if (enquiry.getCampName().equals(campName)) {
-                System.out.println(enquiries.indexOf(enquiry) + ". " + "By " + enquiry.getMadeBy() + ": "
-                        + enquiry.getContent() + " Reply: " + enquiry.getReply());
-            }
-        }
-    }
-
-    /**
-     * Retrieves all the unanswered enquiries for a specific camp
-     * 
-     * @param campName the name of the camp
-     */
-    public void listUnansweredCampEnquiriesByIndex(String campName) {
-        System.out.println("Enquires for " + campName + ":");
-        for (Enquiry enquiry : enquiries) {
-            if (enquiry.getCampName().equals(campName) && enquiry.getReply().equals("NO_REPLY")) {
-                System.out.println(enquiries.indexOf(enquiry) + ". " + "By " + enquiry.getMadeBy() + ": "
-                        + enquiry.getContent() + " Reply: " + enquiry.getReply());
-            }
-        }
-    }
-
-    /**
-     * Retrieve the Enquiry based on its index in database
-     * 
-     * @param index the index of of Enquiry object
-     * @return the enquiry that matched the index
-     */
-    public Enquiry getEnquiryByIndex(int index) {
-        return enquiries.get(index);
-    }
-
-    /**
-     * create the new enquiry and add it to the enquiry list
-     * 
-     * @param campName name of the camp the enquiry is for
-     * @param student  the owner of the the enquiry
-     * @param content  the description of the enquiry
-     * @param reply    the reply of the enquiry
-     */
-    public void addEnquiry(String campName, Student student, String content, String reply) {
-        String madeBy = student.getName();
-        Enquiry enquiry = new Enquiry(campName, content, reply, madeBy);
-        enquiries.add(enquiry);
-        this.save();
-    }
-
-    /**
-     * Set the reply of a specific enquiry
-     * 
-     * @param index of the enquiry that got replied
-     * @param reply the description of the reply
-     */
-    public void replyEnquiry(int index, String reply) {
-        enquiries.get(index).setReply(reply);
-        this.save();
-    }
-
-    /**
-     * Saves all the enquiry into enquires.txt
-     * handles the Exception when writing to enquiries.txt
-     */
-    public void save() {
-        try {
-            EnquiryTextDB.saveEnquiries("enquiries.txt", enquiries);
-        } catch (IOException e) {
-            System.out.println("IOException while saving enquiries: " + e.getMessage());
-        }
-    }
-
+package enquiry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import user.Student;
+import user.StudentManager;
+import utils.MinHashIndex;
+import utils.TextIndex;
+import utils.TextJournal;
+
+/**
+ * This class serves as an abstraction that handles the reading of data from
+ * enquiries.txt Database
+ * Enquiries are indexed by ID, by camp, and by camp for the unanswered ones,
+ * so listing the enquiries of one camp does not scan every enquiry
+ * Each camp also has a TextIndex of the content and reply of its enquiries
+ * for searching them, and a MinHashIndex of its answered enquiries, so a new
+ * enquiry is shown the answered ones asking nearly the same question
+ * 
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class EnquiryManager {
+    // weights of the content and the reply of an enquiry in searches
+    private static final int CONTENT_WEIGHT = 2;
+    private static final int REPLY_WEIGHT = 1;
+    // lowest estimated similarity of an answered enquiry shown as asking the same question
+    private static final double SIMILARITY_THRESHOLD = 0.5;
+    // number of similar answered enquiries shown for a new enquiry
+    public static final int SIMILAR_SHOWN = 3;
+
+    private List<Enquiry> enquiries = new ArrayList<>();
+    private TextJournal<Enquiry> journal;
+    private final Map<Integer, Enquiry> enquiriesByID = new HashMap<>();
+    private final Map<String, List<Enquiry>> enquiriesByCamp = new HashMap<>();
+    // unanswered enquiries of each camp by ID, replyEnquiry removes them
+    private final Map<String, Map<Integer, Enquiry>> unansweredByCamp = new HashMap<>();
+    private final Map<String, TextIndex<Enquiry>> textByCamp = new HashMap<>();
+    private final Map<String, MinHashIndex<Enquiry>> answeredByCamp = new HashMap<>();
+    private int nextID;
+    private static EnquiryManager instance;
+
+    /**
+     * Reads from enquires.txt and replays its journal, and builds the indexes.
+     * Handles any exception caused when reading
+     */
+    private EnquiryManager() {
+        journal = EnquiryTextDB.openEnquiryJournal("enquiries.txt");
+        try {
+            this.enquiries = journal.load();
+        } catch (IOException e) {
+            System.out.println("IOException while reading enquiries: " + e.getMessage());
+            // continuing with an empty list.
+            this.enquiries = new ArrayList<>();
+        }
+        for (Enquiry enquiry : enquiries) {
+            nextID = Math.max(nextID, enquiry.getID() + 1);
+        }
+        // enquiries saved before they had IDs are numbered in the order they are listed,
+        // which is the index they used to be shown with
+        // and their authors are found by name when only one student has it, the
+        // students are only needed for such rows
+        boolean assigned = false;
+        for (Enquiry enquiry : enquiries) {
+            boolean changed = false;
+            if (enquiry.getID() == Enquiry.NO_ID) {
+                enquiry.assignID(nextID++);
+                changed = true;
+            }
+            if (enquiry.getMadeByID() == null) {
+                Student author = StudentManager.getInstance().getAuthor(null, enquiry.getMadeBy());
+                if (author != null) {
+                    enquiry.assignMadeByID(author.getID());
+                    changed = true;
+                }
+            }
+            if (changed) {
+                assigned = true;
+                try {
+                    journal.update(enquiry);
+                } catch (IOException e) {
+                    System.out.println("IOException while saving enquiries: " + e.getMessage());
+                }
+            }
+            index(enquiry);
+        }
+        if (assigned) {
+            save();
+        }
+    }
+
+    /**
+     * Allow other class to get the Instance of EnquiryManager
+     * 
+     * @return the instance of the EnquiryManager
+     */
+    public static synchronized EnquiryManager getInstance() {
+        if (instance == null) {
+            instance = new EnquiryManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Allow other class to retrieve the List of Enquiry
+     * 
+     * @return the list of Enquiry object
+     */
+    public List<Enquiry> getEnquiries() {
+        return enquiries;
+    }
+
+    /**
+     * Retrieves all the enquiries for a specific camp
+     * 
+     * @param campName the name of the camp
+     */
+    public synchronized void listAllCampEnquiriesByIndex(String campName) {
+        System.out.println("Enquires for " + campName + ":");
+        for (Enquiry enquiry : enquiriesByCamp.getOrDefault(campName, Collections.emptyList())) {
+            printEnquiry(enquiry);
+        }
+    }
+
+    /**
+     * Retrieves all the unanswered enquiries for a specific camp
+     * 
+     * @param campName the name of the camp
+     */
+    public synchronized void listUnansweredCampEnquiriesByIndex(String campName) {
+        System.out.println("Enquires for " + campName + ":");
+        for (Enquiry enquiry : unansweredByCamp.getOrDefault(campName, Collections.emptyMap()).values()) {
+            printEnquiry(enquiry);
+        }
+    }
+
+    private void printEnquiry(Enquiry enquiry) {
+        System.out.println(enquiry.getID() + ". " + "By " + enquiry.getMadeBy() + ": "
+                + enquiry.getContent() + " Reply: " + enquiry.getReply());
+    }
+
+    /**
+     * Retrieve the Enquiry based on its ID
+     * 
+     * @param id the ID of the Enquiry object
+     * @return the enquiry that matched the ID, or null if there is none
+     */
+    public synchronized Enquiry getEnquiryByID(int id) {
+        return enquiriesByID.get(id);
+    }
+
+    /**
+     * Search the enquiries of a camp by words of their content or reply, which
+     * may be misspelt or incomplete
+     * 
+     * @param campName the name of the camp
+     * @param text     the words searched
+     * @param k        the largest number of enquiries wanted
+     * @return up to k enquiries, from the best match down
+     */
+    public synchronized List<Enquiry> searchEnquiries(String campName, String text, int k) {
+        TextIndex<Enquiry> textIndex = textByCamp.get(campName);
+        return textIndex == null ? new ArrayList<>() : textIndex.search(text, k);
+    }
+
+    /**
+     * Find the answered enquiries of a camp asking nearly the same question
+     * 
+     * @param campName the name of the camp
+     * @param content  the question
+     * @param k        the largest number of enquiries wanted
+     * @return up to k answered enquiries, from the most similar down
+     */
+    public synchronized List<Enquiry> findSimilarAnswered(String campName, String content, int k) {
+        List<Enquiry> similar = new ArrayList<>();
+        MinHashIndex<Enquiry> answered = answeredByCamp.get(campName);
+        if (answered != null) {
+            for (MinHashIndex.Match<Enquiry> match : answered.findSimilar(content, SIMILARITY_THRESHOLD, k)) {
+                similar.add(match.getDocument());
+            }
+        }
+        return similar;
+    }
+
+    /**
+     * create the new enquiry and add it to the enquiry list
+     * 
+     * @param campName name of the camp the enquiry is for
+     * @param student  the owner of the the enquiry
+     * @param content  the description of the enquiry
+     * @param reply    the reply of the enquiry
+     * @return the answered enquiries of the camp asking nearly the same
+     *         question, up to SIMILAR_SHOWN of them
+     */
+    public synchronized List<Enquiry> addEnquiry(String campName, Student student, String content, String reply) {
+        List<Enquiry> similar = findSimilarAnswered(campName, content, SIMILAR_SHOWN);
+        Enquiry enquiry = new Enquiry(nextID++, campName, content, reply, student.getName(), student.getID());
+        enquiries.add(enquiry);
+        index(enquiry);
+        try {
+            journal.insert(enquiry);
+        } catch (IOException e) {
+            System.out.println("IOException while saving enquiries: " + e.getMessage());
+        }
+        return similar;
+    }
+
+    /**
+     * Set the reply of a specific enquiry, it leaves the unanswered enquiries of its camp
+     * 
+     * @param id    the ID of the enquiry that got replied
+     * @param reply the description of the reply
+     */
+    public synchronized void replyEnquiry(int id, String reply) {
+        Enquiry enquiry = enquiriesByID.get(id);
+        if (enquiry == null) {
+            System.out.println("Error. Enquiry doesn't exist");
+            return;
+        }
+        setReply(enquiry, reply);
+        try {
+            journal.update(enquiry);
+        } catch (IOException e) {
+            System.out.println("IOException while saving enquiries: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Set the replies of several unanswered enquiries as one batch,
+     * enquiries.txt is written once for the whole batch. Enquiries already
+     * answered, or of another camp than the one given, are skipped.
+     * 
+     * @param replies  the reply to each enquiry by ID
+     * @param campName the camp the enquiries must be of, or null for any camp
+     * @return the number of enquiries answered by this batch
+     */
+    public synchronized int replyEnquiries(Map<Integer, String> replies, String campName) {
+        List<Enquiry> replied = new ArrayList<>(replies.size());
+        int answered = 0;
+        for (Map.Entry<Integer, String> entry : replies.entrySet()) {
+            Enquiry enquiry = enquiriesByID.get(entry.getKey());
+            if (enquiry == null) {
+                System.out.println("Error. Enquiry " + entry.getKey() + " doesn't exist");
+                continue;
+            }
+            if (campName != null && !campName.equals(enquiry.getCampName())) {
+                System.out.println("Error. Enquiry " + entry.getKey() + " is not about " + campName);
+                continue;
+            }
+            if (enquiry.isAnswered()) {
+                System.out.println("Error. Enquiry " + entry.getKey() + " is already answered");
+                continue;
+            }
+            setReply(enquiry, entry.getValue());
+            replied.add(enquiry);
+            if (enquiry.isAnswered()) {
+                answered++;
+            }
+        }
+        try {
+            journal.commit(replied, Collections.<Enquiry>emptyList());
+        } catch (IOException e) {
+            System.out.println("IOException while saving enquiries: " + e.getMessage());
+        }
+        return answered;
+    }
+
+    private void setReply(Enquiry enquiry, String reply) {
+        enquiry.setReply(reply);
+        indexText(enquiry);
+        if (enquiry.isAnswered()) {
+            Map<Integer, Enquiry> unanswered = unansweredByCamp.get(enquiry.getCampName());
+            if (unanswered != null) {
+                unanswered.remove(enquiry.getID());
+                if (unanswered.isEmpty()) {
+                    unansweredByCamp.remove(enquiry.getCampName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Add an enquiry to the indexes
+     * 
+     * @param enquiry the enquiry, with its ID assigned
+     */
+    private void index(Enquiry enquiry) {
+        enquiriesByID.put(enquiry.getID(), enquiry);
+        enquiriesByCamp.computeIfAbsent(enquiry.getCampName(), campName -> new ArrayList<>()).add(enquiry);
+        if (!enquiry.isAnswered()) {
+            unansweredByCamp.computeIfAbsent(enquiry.getCampName(), campName -> new LinkedHashMap<>())
+                    .put(enquiry.getID(), enquiry);
+        }
+        indexText(enquiry);
+    }
+
+    /**
+     * Add an enquiry to the text indexes of its camp, or update it after a reply
+     * 
+     * @param enquiry the enquiry
+     */
+    private void indexText(Enquiry enquiry) {
+        String reply = enquiry.isAnswered() ? enquiry.getReply() : null;
+        textByCamp.computeIfAbsent(enquiry.getCampName(),
+                campName -> new TextIndex<>(Comparator.comparingInt(Enquiry::getID), CONTENT_WEIGHT, REPLY_WEIGHT))
+                .put(enquiry, enquiry.getContent(), reply);
+        MinHashIndex<Enquiry> answered = answeredByCamp.computeIfAbsent(enquiry.getCampName(),
+                campName -> new MinHashIndex<>());
+        if (enquiry.isAnswered()) {
+            answered.put(enquiry, enquiry.getContent());
+        } else {
+            answered.remove(enquiry);
+        }
+    }
+
+    /**
+     * Saves all the enquiry into enquires.txt by folding the journal into it
+     * handles the Exception when writing to enquiries.txt
+     */
+    public synchronized void save() {
+        try {
+            journal.compact();
+        } catch (IOException e) {
+            System.out.println("IOException while saving enquiries: " + e.getMessage());
+        }
+    }
+
 }
\ No newline at end of file
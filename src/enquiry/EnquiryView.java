@@ -1,246 +1,379 @@
-package enquiry;
-
-import java.util.InputMismatchException;
-import java.util.Scanner;
-
-import user.Staff;
-import user.Student;
-import user.StudentManager;
-import camp.CampManager;
-
-/**
- * Display the enquiry menu for Student and Staff
- * Uses polymorphism where the the Student/Staff is passed into the user
- * parameter
- * based on the object passed decide if the user is a staff or student
- * call the corresponding menu for the different type of user
- * 
- * @author group1
- * @version 1.0
- * @since 24 nov 2023
- */
-public class EnquiryView {
-
-    /**
-     * Uses polymorphism where the the Student/Staff is passed into the user
-     * parameter
-     * based on the object passed decide if the user is a staff or student
-     * call the corresponding menu for the different type of user
-     * 
-     * @param user the user object passed in after logging in
-     */
-
-    public static void displayStudentMenu(Student student) {
-        Scanner sc = new Scanner(System.in);
-        int choice;
-        int index;
-        boolean run = true;
-        String selectedCampName;
-        Enquiry selectedEnquiry;
-        String content = null;
-        String reply;
-        StudentManager studentMgr = StudentManager.getInstance();
-        EnquiryManager enquiryMgr = EnquiryManager.getInstance();
-        CampManager campMgr = CampManager.getInstance();
-
-        do {
-            System.out.println("\n============ENQUIRIES===============");
-            System.out.println("(1) Create Enquiry");
-            System.out.println("(2) View Enquiries for a Camp");
-            System.out.println("(3) Edit your Enquiry");
-            System.out.println("(4) Delete your Enquiry");
-            System.out.println("(5) Submit your Enquiry");
-            System.out.println("(6) Return");
-            System.out.println("===========FOR COMMITTEE MEMBERS=========");
-            System.out.println("(7) View Unanswered Enquiries for your Camp");
-            System.out.println("(8) Reply to an Enquiry for your Camp");
-            System.out.println("=======================================");
-            System.out.print("Select option");
-            try {
-                choice = sc.nextInt();
-                if (!(choice >= 1 && choice <= 8)) {
-                    System.out.println("Input must be an integer from 1-8!");
-                }
-                switch (choice) {
-                    case 1: // Create
-                        System.out.println("Enter Enquiry:");
-                        sc.nextLine();
-                        content = sc.nextLine();
-                        break;
-                    case 2: // View
-                        System.out.println("Enter name of Camp:");
-                        sc.nextLine();
-                        selectedCampName = sc.nextLine();
-                        // include a check if camp exists:
-                        if (!campMgr.hasCamp(selectedCampName)) {
-                            System.out.println("no camp of this name exists");
-                            break;
-                        }
-                        enquiryMgr.listAllCampEnquiriesByIndex(selectedCampName);
-                        break;
-                    case 3: // edit
-                        if (content == null) {
-                            System.out.println("Enquiry not created yet");
-                            break;
-                        }
-                        System.out.println("Current Enquiry: " + content);
-                        System.out.println("Enter new Enquiry:");
-                        sc.nextLine();
-                        content = sc.nextLine();
-                        break;
-                    case 4: // delete
-                        if (content == null) {
-                            System.out.println("Enquiry not created yet");
-                            break;
-                        }
-                        System.out.println("Enquiry deleted");
-                        sc.nextLine();
-                        content = null;
-                        break;
-
-                    case 5:// submit
-                        System.out.println("Enter name of Camp:");
-                        sc.nextLine();
-                        selectedCampName = sc.nextLine();
-                        // include a check if camp exists:
-                        if (!campMgr.hasCamp(selectedCampName)) {
-                            System.out.println("no camp of this name exists");
-
-                            break;
-                        } else {
-                            System.out.println("Enquiry sucessfully submitted.");
-
-                        }
-                        enquiryMgr.addEnquiry(selectedCampName, student, content, "NO_REPLY");
-                        content = null;
-                        break;
-                    case 6: // Exit
-                        System.out.println("Returning to main menu...");
-                        sc.nextLine();
-                        return;
-                    case 7:
-                        if (!student.getIsCommittee() || student.getCommitCamp().equals("NO_CAMP")) {
-                            System.out.println("You are not a Commitee Member");
-                            break;
-                        }
-                        System.out.println("Enter name of Camp:");
-                        sc.nextLine();
-                        selectedCampName = sc.nextLine();
-                        // include a check if camp exists:
-                        if (!campMgr.hasCamp(selectedCampName)) {
-                            System.out.println("no camp of this name exists");
-                            break;
-                        }
-                        enquiryMgr.listUnansweredCampEnquiriesByIndex(selectedCampName);
-                        break;
-
-                    case 8:
-                        System.out.println(student.getCommitCamp());
-                        if (!student.getIsCommittee()) {
-                            System.out.println("You are not a Commitee Member");
-                            break;
-                        }
-                        System.out.println("Enter index:");
-                        sc.nextLine();
-                        index = sc.nextInt();
-                        selectedEnquiry = enquiryMgr.getEnquiryByIndex(index);
-                        System.out.println("Enquiry: " + selectedEnquiry.getContent());
-                        System.out.println("Enter reply:");
-                        sc.nextLine();
-                        reply = sc.nextLine();
-                        enquiryMgr.replyEnquiry(index, reply);
-                        studentMgr.addPoint(student);
-                        break;
-                }
-            } catch (IndexOutOfBoundsException e) {
-                System.out.println(
-                        "Invalid index, please view the unanswered enquiries and reply to get the correct index.");
-
-                continue;
-            } catch (InputMismatchException e) {
-                System.out.println("Input must be an integer!");
-                sc.nextLine();
-                continue;
-            }
-
-        } while (run);
-
-        sc.close();
-    }
-
-    /**
-     * Display the menu for staff
-     * 
-     * @param staff ,the staff object that logged in
-     */
-    public static void displayStaffMenu(Staff staff) {
-        Scanner sc = new Scanner(System.in);
-        int choice;
-        int index;
-        boolean run = true;
-        String selectedCampName;
-        Enquiry selectedEnquiry;
-        String reply;
-        EnquiryManager enquiryMgr = EnquiryManager.getInstance();
-        CampManager campMgr = CampManager.getInstance();
-
-        do {
-            System.out.println("\n============ENQUIRIES===============");
-            System.out.println("(1) View Unanswered Enquiries of a Camp");
-            System.out.println("(2) Reply to an Enquiry for your Camp");
-            System.out.println("(3) Return");
-            System.out.println("=======================================");
-            System.out.print("Select option");
-
-            try {
-                choice = sc.nextInt();
-                if (!(choice >= 1 && choice <= 3)) {
-                    System.out.println("Input must be an integer from 1-3!");
-                }
-                switch (choice) {
-                    case 1: // View
-                        System.out.println("Enter name of Camp:");
-                        sc.nextLine();
-                        selectedCampName = sc.nextLine();
-                        // include a check if camp exists:
-                        if (!campMgr.hasCamp(selectedCampName)) {
-                            System.out.println("no camp of this name exists");
-                            break;
-                        }
-                        enquiryMgr.listAllCampEnquiriesByIndex(selectedCampName);
-                        break;
-                    case 2: // Reply
-
-                        System.out.println("Enter index:");
-                        sc.nextLine();
-                        index = sc.nextInt();
-                        selectedEnquiry = enquiryMgr.getEnquiryByIndex(index);
-                        System.out.println("Enquiry: " + selectedEnquiry.getContent());
-                        System.out.println("Enter reply:");
-                        sc.nextLine();
-                        reply = sc.nextLine();
-                        enquiryMgr.replyEnquiry(index, reply);
-                        break;
-                    case 3: // Exit
-                        System.out.println("Returning to main menu...");
-                        sc.nextLine();
-                        return;
-                }
-            } catch (IndexOutOfBoundsException e) {
-                System.out.println(
-                        "Invalid index, please view the unanswered enquiries and reply to get the correct index.");
-
-                continue;
-            } catch (InputMismatchException e) {
-                System.out.println("Input must be an integer!");
-                sc.nextInt();
-                continue;
-            }
-
-        } while (run);
-
-        sc.close();
-
-    }
-
+package enquiry;
+
+import java.util.Collections;
+import java.util.InputMismatchException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+
+import user.Staff;
+import user.Student;
+import user.StudentManager;
+import camp.CampManager;
+import utils.InputValidator;
+
+/**
+ * Display the enquiry menu for Student and Staff
+ * Uses polymorphism where the the Student/Staff is passed into the user
+ * parameter
+ * based on the object passed decide if the user is a staff or student
+ * call the corresponding menu for the different type of user
+ * 
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class EnquiryView {
+    // number of enquiries shown by a search
+    private static final int SEARCH_RESULTS = 10;
+
+    /**
+     * Uses polymorphism where the the Student/Staff is passed into the user
+     * parameter
+     * based on the object passed decide if the user is a staff or student
+     * call the corresponding menu for the different type of user
+     * 
+     * @param user the user object passed in after logging in
+     */
+
+    public static void displayStudentMenu(Student student) {
+        Scanner sc = new Scanner(System.in);
+        int choice;
+        int enquiryID;
+        boolean run = true;
+        String selectedCampName;
+        Enquiry selectedEnquiry;
+        String content = null;
+        String reply;
+        StudentManager studentMgr = StudentManager.getInstance();
+        EnquiryManager enquiryMgr = EnquiryManager.getInstance();
+        CampManager campMgr = CampManager.getInstance();
+
+        do {
+            System.out.println("\n============ENQUIRIES===============");
+            System.out.println("(1) Create Enquiry");
+            System.out.println("(2) View Enquiries for a Camp");
+            System.out.println("(3) Edit your Enquiry");
+            System.out.println("(4) Delete your Enquiry");
+            System.out.println("(5) Submit your Enquiry");
+            System.out.println("(6) Return");
+            System.out.println("===========FOR COMMITTEE MEMBERS=========");
+            System.out.println("(7) View Unanswered Enquiries for your Camp");
+            System.out.println("(8) Reply to an Enquiry for your Camp");
+            System.out.println("(9) Reply to Several Enquiries for your Camp");
+            System.out.println("(10) Search Enquiries for a Camp");
+            System.out.println("=======================================");
+            System.out.print("Select option");
+            try {
+                choice = sc.nextInt();
+                if (!(choice >= 1 && choice <= 10)) {
+                    System.out.println("Input must be an integer from 1-10!");
+                }
+                switch (choice) {
+                    case 1: // Create
+                        System.out.println("Enter Enquiry:");
+                        sc.nextLine();
+                        content = sc.nextLine();
+                        break;
+                    case 2: // View
+                        System.out.println("Enter name of Camp:");
+                        sc.nextLine();
+                        selectedCampName = sc.nextLine();
+                        // include a check if camp exists:
+                        if (!campMgr.hasCamp(selectedCampName)) {
+                            System.out.println("no camp of this name exists");
+                            break;
+                        }
+                        enquiryMgr.listAllCampEnquiriesByIndex(selectedCampName);
+                        break;
+                    case 3: // edit
+                        if (content == null) {
+                            System.out.println("Enquiry not created yet");
+                            break;
+                        }
+                        System.out.println("Current Enquiry: " + content);
+                        System.out.println("Enter new Enquiry:");
+                        sc.nextLine();
+                        content = sc.nextLine();
+                        break;
+                    case 4: // delete
+                        if (content == null) {
+                            System.out.println("Enquiry not created yet");
+                            break;
+                        }
+                        System.out.println("Enquiry deleted");
+                        sc.nextLine();
+                        content = null;
+                        break;
+
+                    case 5:// submit
+                        System.out.println("Enter name of Camp:");
+                        sc.nextLine();
+                        selectedCampName = sc.nextLine();
+                        // include a check if camp exists:
+                        if (!campMgr.hasCamp(selectedCampName)) {
+                            System.out.println("no camp of this name exists");
+
+                            break;
+                        } else {
+                            System.out.println("Enquiry sucessfully submitted.");
+
+                        }
+                        printSimilar(enquiryMgr.addEnquiry(selectedCampName, student, content, Enquiry.NO_REPLY));
+                        content = null;
+                        break;
+                    case 6: // Exit
+                        System.out.println("Returning to main menu...");
+                        sc.nextLine();
+                        return;
+                    case 7:
+                        if (!student.getIsCommittee() || student.getCommitCamp().equals("NO_CAMP")) {
+                            System.out.println("You are not a Commitee Member");
+                            break;
+                        }
+                        System.out.println("Enter name of Camp:");
+                        sc.nextLine();
+                        selectedCampName = sc.nextLine();
+                        // include a check if camp exists:
+                        if (!campMgr.hasCamp(selectedCampName)) {
+                            System.out.println("no camp of this name exists");
+                            break;
+                        }
+                        enquiryMgr.listUnansweredCampEnquiriesByIndex(selectedCampName);
+                        break;
+
+                    case 8:
+                        System.out.println(student.getCommitCamp());
+                        if (!student.getIsCommittee()) {
+                            System.out.println("You are not a Commitee Member");
+                            break;
+                        }
+                        System.out.println("Enter enquiry ID:");
+                        sc.nextLine();
+                        enquiryID = sc.nextInt();
+                        selectedEnquiry = enquiryMgr.getEnquiryByID(enquiryID);
+                        if (selectedEnquiry == null) {
+                            System.out.println(
+                                    "Invalid ID, please view the unanswered enquiries and reply to get the correct ID.");
+                            break;
+                        }
+                        System.out.println("Enquiry: " + selectedEnquiry.getContent());
+                        printSimilar(selectedEnquiry, enquiryMgr);
+                        System.out.println("Enter reply:");
+                        sc.nextLine();
+                        reply = sc.nextLine();
+                        enquiryMgr.replyEnquiry(enquiryID, reply);
+                        studentMgr.addPoint(student);
+                        break;
+
+                    case 9: // replies and points are saved once for the batch
+                        if (!student.getIsCommittee()) {
+                            System.out.println("You are not a Commitee Member");
+                            break;
+                        }
+                        sc.nextLine();
+                        String commitCamp = student.getCommitCamp();
+                        int replied = enquiryMgr.replyEnquiries(promptReplies(sc, enquiryMgr, commitCamp),
+                                commitCamp);
+                        if (replied > 0) {
+                            studentMgr.addPoints(Collections.singletonMap(student, replied));
+                        }
+                        System.out.println(replied + " enquiries replied.");
+                        break;
+
+                    case 10: // Search
+                        sc.nextLine();
+                        searchEnquiries(sc, enquiryMgr, campMgr);
+                        break;
+                }
+            } catch (InputMismatchException e) {
+                System.out.println("Input must be an integer!");
+                sc.nextLine();
+                continue;
+            }
+
+        } while (run);
+
+        sc.close();
+    }
+
+    /**
+     * Display the menu for staff
+     * 
+     * @param staff ,the staff object that logged in
+     */
+    public static void displayStaffMenu(Staff staff) {
+        Scanner sc = new Scanner(System.in);
+        int choice;
+        int enquiryID;
+        boolean run = true;
+        String selectedCampName;
+        Enquiry selectedEnquiry;
+        String reply;
+        EnquiryManager enquiryMgr = EnquiryManager.getInstance();
+        CampManager campMgr = CampManager.getInstance();
+
+        do {
+            System.out.println("\n============ENQUIRIES===============");
+            System.out.println("(1) View Unanswered Enquiries of a Camp");
+            System.out.println("(2) Reply to an Enquiry for your Camp");
+            System.out.println("(3) Reply to Several Enquiries");
+            System.out.println("(4) Search Enquiries of a Camp");
+            System.out.println("(5) Return");
+            System.out.println("=======================================");
+            System.out.print("Select option");
+
+            try {
+                choice = sc.nextInt();
+                if (!(choice >= 1 && choice <= 5)) {
+                    System.out.println("Input must be an integer from 1-5!");
+                }
+                switch (choice) {
+                    case 1: // View
+                        System.out.println("Enter name of Camp:");
+                        sc.nextLine();
+                        selectedCampName = sc.nextLine();
+                        // include a check if camp exists:
+                        if (!campMgr.hasCamp(selectedCampName)) {
+                            System.out.println("no camp of this name exists");
+                            break;
+                        }
+                        enquiryMgr.listAllCampEnquiriesByIndex(selectedCampName);
+                        break;
+                    case 2: // Reply
+
+                        System.out.println("Enter enquiry ID:");
+                        sc.nextLine();
+                        enquiryID = sc.nextInt();
+                        selectedEnquiry = enquiryMgr.getEnquiryByID(enquiryID);
+                        if (selectedEnquiry == null) {
+                            System.out.println(
+                                    "Invalid ID, please view the unanswered enquiries and reply to get the correct ID.");
+                            break;
+                        }
+                        System.out.println("Enquiry: " + selectedEnquiry.getContent());
+                        printSimilar(selectedEnquiry, enquiryMgr);
+                        System.out.println("Enter reply:");
+                        sc.nextLine();
+                        reply = sc.nextLine();
+                        enquiryMgr.replyEnquiry(enquiryID, reply);
+                        break;
+                    case 3: // Reply several, saved once for the batch
+                        sc.nextLine();
+                        System.out.println(
+                                enquiryMgr.replyEnquiries(promptReplies(sc, enquiryMgr, null), null)
+                                        + " enquiries replied.");
+                        break;
+                    case 4: // Search
+                        sc.nextLine();
+                        searchEnquiries(sc, enquiryMgr, campMgr);
+                        break;
+                    case 5: // Exit
+                        System.out.println("Returning to main menu...");
+                        sc.nextLine();
+                        return;
+                }
+            } catch (InputMismatchException e) {
+                System.out.println("Input must be an integer!");
+                sc.nextInt();
+                continue;
+            }
+
+        } while (run);
+
+        sc.close();
+
+    }
+
+    /**
+     * Ask for the IDs of several unanswered enquiries and a reply to each of them
+     * 
+     * @param sc         the scanner of the menu
+     * @param enquiryMgr the enquiry manager
+     * @param campName   the camp the enquiries must be of, or null for any camp
+     * @return the reply to each enquiry by ID, unknown, answered and other
+     *         camps' IDs are left out
+     */
+    private static Map<Integer, String> promptReplies(Scanner sc, EnquiryManager enquiryMgr, String campName) {
+        System.out.println("Enter enquiry IDs, separated by spaces:");
+        Map<Integer, String> replies = new LinkedHashMap<>();
+        for (int enquiryID : new InputValidator(sc).promptInts(0, Integer.MAX_VALUE)) {
+            Enquiry selectedEnquiry = enquiryMgr.getEnquiryByID(enquiryID);
+            if (selectedEnquiry == null) {
+                System.out.println("Invalid ID " + enquiryID + ", skipped.");
+                continue;
+            }
+            if (campName != null && !campName.equals(selectedEnquiry.getCampName())) {
+                System.out.println("Enquiry " + enquiryID + " is not about your camp, skipped.");
+                continue;
+            }
+            if (selectedEnquiry.isAnswered()) {
+                System.out.println("Enquiry " + enquiryID + " is already answered, skipped.");
+                continue;
+            }
+            System.out.println("Enquiry " + enquiryID + ": " + selectedEnquiry.getContent());
+            printSimilar(selectedEnquiry, enquiryMgr);
+            System.out.println("Enter reply:");
+            replies.put(enquiryID, sc.nextLine());
+        }
+        return replies;
+    }
+
+    /**
+     * Ask for a camp and words, and print the enquiries of the camp best
+     * matching the words
+     * 
+     * @param sc         the scanner of the menu
+     * @param enquiryMgr the enquiry manager
+     * @param campMgr    the camp manager
+     */
+    private static void searchEnquiries(Scanner sc, EnquiryManager enquiryMgr, CampManager campMgr) {
+        System.out.println("Enter name of Camp:");
+        String campName = sc.nextLine();
+        if (!campMgr.hasCamp(campName)) {
+            System.out.println("no camp of this name exists");
+            return;
+        }
+        System.out.println("Enter words to search:");
+        List<Enquiry> found = enquiryMgr.searchEnquiries(campName, sc.nextLine(), SEARCH_RESULTS);
+        if (found.isEmpty()) {
+            System.out.println("No matching enquiries");
+        }
+        for (Enquiry enquiry : found) {
+            System.out.println(enquiry.getID() + ". " + "By " + enquiry.getMadeBy() + ": "
+                    + enquiry.getContent() + " Reply: " + enquiry.getReply());
+        }
+    }
+
+    /**
+     * Print the answered enquiries of the camp of an enquiry asking nearly the
+     * same question, so their replies can be reused
+     * 
+     * @param enquiry    the enquiry being replied
+     * @param enquiryMgr the enquiry manager
+     */
+    private static void printSimilar(Enquiry enquiry, EnquiryManager enquiryMgr) {
+        List<Enquiry> similar = enquiryMgr.findSimilarAnswered(enquiry.getCampName(), enquiry.getContent(),
+                EnquiryManager.SIMILAR_SHOWN + 1);
+        similar.removeIf(other -> other.getID() == enquiry.getID());
+        printSimilar(similar.size() > EnquiryManager.SIMILAR_SHOWN
+                ? similar.subList(0, EnquiryManager.SIMILAR_SHOWN) : similar);
+    }
+
+    /**
+     * Print answered enquiries asking nearly the same question
+     * 
+     * @param similar the answered enquiries
+     */
+    private static void printSimilar(List<Enquiry> similar) {
+        if (similar.isEmpty()) {
+            return;
+        }
+        System.out.println("Similar questions already answered:");
+        for (Enquiry enquiry : similar) {
+            System.out.println(enquiry.getID() + ". " + enquiry.getContent() + " Reply: " + enquiry.getReply());
+        }
+    }
+
 }
\ No newline at end of file
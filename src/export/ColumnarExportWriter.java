@@ -0,0 +1,169 @@
+package export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes an export in a compact columnar binary format.
+ * The rows are held column by column and written when the writer is closed.
+ * Columns with few distinct values, the camp, faculty and role, are
+ * dictionary encoded: each distinct value is written once and every row holds
+ * its index. Counts, indexes and points are varints and strings are a varint
+ * length followed by UTF-8.
+ *
+ * Layout: MAGIC, VERSION, row count, column count, columns in the order
+ * camp, student_id, name, faculty, role, points
+ * Column: name, encoding, then for DICTIONARY the number of values, the values
+ * and one index per row, for STRING one string per row, for INT one varint
+ * per row
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class ColumnarExportWriter implements ExportWriter {
+    // "CAMX"
+    public static final int MAGIC = 0x43414D58;
+    public static final int VERSION = 1;
+    public static final int STRING = 0;
+    public static final int DICTIONARY = 1;
+    public static final int INT = 2;
+
+    /**
+     * A column of growing int values
+     */
+    private static class IntColumn {
+        private int[] values = new int[1024];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * A dictionary encoded column of strings
+     */
+    private static class DictionaryColumn {
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private final IntColumn codes = new IntColumn();
+
+        private void add(String value) {
+            Integer code = index.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                index.put(value, code);
+                dictionary.add(value);
+            }
+            codes.add(code);
+        }
+    }
+
+    private final String fileName;
+    private final DictionaryColumn campNames = new DictionaryColumn();
+    private final List<String> studentIDs = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final DictionaryColumn faculties = new DictionaryColumn();
+    private final DictionaryColumn roles = new DictionaryColumn();
+    private final IntColumn points = new IntColumn();
+    private OutputStream out;
+
+    /**
+     * Constructor for ColumnarExportWriter, the file is written on close
+     *
+     * @param fileName the name of the file
+     */
+    public ColumnarExportWriter(String fileName) {
+        this.fileName = fileName;
+    }
+
+    @Override
+    public void write(ExportRow row) {
+        campNames.add(row.getCampName());
+        studentIDs.add(row.getStudentID());
+        names.add(row.getName());
+        faculties.add(row.getFaculty());
+        roles.add(row.getRole());
+        points.add(row.getPoints());
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(Paths.get(fileName)), 1 << 16)) {
+            out = stream;
+            writeInt(MAGIC);
+            writeVarInt(VERSION);
+            writeVarInt(studentIDs.size());
+            writeVarInt(6);
+            writeDictionary("camp", campNames);
+            writeStrings("student_id", studentIDs);
+            writeStrings("name", names);
+            writeDictionary("faculty", faculties);
+            writeDictionary("role", roles);
+            writeString("points");
+            writeVarInt(INT);
+            writeInts(points);
+        } finally {
+            out = null;
+        }
+    }
+
+    private void writeDictionary(String column, DictionaryColumn values) throws IOException {
+        writeString(column);
+        writeVarInt(DICTIONARY);
+        writeVarInt(values.dictionary.size());
+        for (String value : values.dictionary) {
+            writeString(value);
+        }
+        writeInts(values.codes);
+    }
+
+    private void writeStrings(String column, List<String> values) throws IOException {
+        writeString(column);
+        writeVarInt(STRING);
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    private void writeInts(IntColumn values) throws IOException {
+        for (int i = 0; i < values.size; i++) {
+            writeVarInt(values.values[i]);
+        }
+    }
+
+    private void writeInt(int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        long unsigned = value & 0xFFFFFFFFL;
+        while ((unsigned & ~0x7FL) != 0) {
+            out.write((int) ((unsigned & 0x7F) | 0x80));
+            unsigned >>>= 7;
+        }
+        out.write((int) unsigned);
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(utf8.length);
+        out.write(utf8);
+    }
+}
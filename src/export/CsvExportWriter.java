@@ -0,0 +1,69 @@
+package export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Writes an export as CSV with a header row, fields holding a comma, a quote
+ * or a line break are quoted
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class CsvExportWriter implements ExportWriter {
+    public static final String HEADER = "camp,student_id,name,faculty,role,points";
+
+    private final BufferedWriter writer;
+
+    /**
+     * Create the file and write the header row
+     *
+     * @param fileName the name of the file
+     * @throws IOException if an error occurs when creating the file
+     */
+    public CsvExportWriter(String fileName) throws IOException {
+        writer = Files.newBufferedWriter(Paths.get(fileName), StandardCharsets.UTF_8);
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(ExportRow row) throws IOException {
+        field(row.getCampName());
+        writer.write(',');
+        field(row.getStudentID());
+        writer.write(',');
+        field(row.getName());
+        writer.write(',');
+        field(row.getFaculty());
+        writer.write(',');
+        field(row.getRole());
+        writer.write(',');
+        writer.write(Integer.toString(row.getPoints()));
+        writer.write("\r\n");
+    }
+
+    private void field(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
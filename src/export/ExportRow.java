@@ -0,0 +1,88 @@
+package export;
+
+/**
+ * A row of an export: a student of a camp, joined with the attributes of the
+ * student so the export can be read without students.txt
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class ExportRow {
+    public static final String ROLE_COMMITTEE = "committee";
+    public static final String ROLE_ATTENDEE = "attendee";
+
+    private final String campName;
+    private final String studentID;
+    private final String name;
+    private final String faculty;
+    private final String role;
+    private final int points;
+
+    /**
+     * Constructor for ExportRow
+     *
+     * @param campName  the name of the camp
+     * @param studentID the ID of the student
+     * @param name      the name of the student, empty if the student is unknown
+     * @param faculty   the faculty of the student, empty if the student is unknown
+     * @param role      ROLE_COMMITTEE or ROLE_ATTENDEE
+     * @param points    the points of the student
+     */
+    public ExportRow(String campName, String studentID, String name, String faculty, String role, int points) {
+        this.campName = campName;
+        this.studentID = studentID;
+        this.name = name;
+        this.faculty = faculty;
+        this.role = role;
+        this.points = points;
+    }
+
+    /**
+     * Retrieve the name of the camp
+     * @return the name of the camp
+     */
+    public String getCampName() {
+        return campName;
+    }
+
+    /**
+     * Retrieve the ID of the student
+     * @return the ID of the student
+     */
+    public String getStudentID() {
+        return studentID;
+    }
+
+    /**
+     * Retrieve the name of the student
+     * @return the name of the student
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieve the faculty of the student
+     * @return the faculty of the student
+     */
+    public String getFaculty() {
+        return faculty;
+    }
+
+    /**
+     * Retrieve the role of the student in the camp
+     * @return ROLE_COMMITTEE or ROLE_ATTENDEE
+     */
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * Retrieve the points of the student
+     * @return the points of the student
+     */
+    public int getPoints() {
+        return points;
+    }
+}
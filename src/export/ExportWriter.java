@@ -0,0 +1,22 @@
+package export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes the rows of an export to a file in one format
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public interface ExportWriter extends Closeable {
+
+    /**
+     * Write a row
+     *
+     * @param row the row
+     * @throws IOException if an error occurs when writing
+     */
+    void write(ExportRow row) throws IOException;
+}
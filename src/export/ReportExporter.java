@@ -0,0 +1,104 @@
+package export;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+
+import camp.Camp;
+import user.Student;
+import user.StudentManager;
+
+/**
+ * Exports the camp and committee reports with the name, faculty and points of
+ * each student, as CSV and in the columnar format of ColumnarExportWriter.
+ * Students are joined by ID through the directory of StudentManager, so each
+ * row costs one hash lookup however many students there are.
+ *
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class ReportExporter {
+    // The directory path where exports will be saved.
+    public static final String FILE_PATH = "Export";
+    public static final String CAMP_EXPORT = FILE_PATH + "/CampExport";
+    public static final String COMMITTEE_EXPORT = FILE_PATH + "/CommitteeExport";
+    public static final String CSV_SUFFIX = ".csv";
+    public static final String COLUMNAR_SUFFIX = ".cols";
+
+    /**
+     * Private constructor to prevent instantiation of ReportExporter
+     */
+    private ReportExporter() {
+    }
+
+    /**
+     * Export every student of the given camps, one row per camp and student
+     *
+     * @param camps the camps to export, eg all camps or those selected by a CampFilter
+     * @return the number of rows exported
+     * @throws IOException if an error occurs when writing the exports
+     */
+    public static long exportCamps(Collection<Camp> camps) throws IOException {
+        createDirectory();
+        StudentManager studentMgr = StudentManager.getInstance();
+        long rows = 0;
+        try (ExportWriter csv = new CsvExportWriter(CAMP_EXPORT + CSV_SUFFIX);
+                ExportWriter columnar = new ColumnarExportWriter(CAMP_EXPORT + COLUMNAR_SUFFIX)) {
+            for (Camp camp : camps) {
+                String campName = camp.getName();
+                HashSet<String> commitList = camp.getCommitMemberList();
+                for (String studentID : camp.getStudentList()) {
+                    String role = commitList.contains(studentID) ? ExportRow.ROLE_COMMITTEE : ExportRow.ROLE_ATTENDEE;
+                    ExportRow row = join(campName, studentID, role, studentMgr.getStudentByID(studentID));
+                    csv.write(row);
+                    columnar.write(row);
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Export the committee members among the given students with their points
+     *
+     * @param students the students, eg all students
+     * @return the number of rows exported
+     * @throws IOException if an error occurs when writing the exports
+     */
+    public static long exportCommittee(Collection<Student> students) throws IOException {
+        createDirectory();
+        long rows = 0;
+        try (ExportWriter csv = new CsvExportWriter(COMMITTEE_EXPORT + CSV_SUFFIX);
+                ExportWriter columnar = new ColumnarExportWriter(COMMITTEE_EXPORT + COLUMNAR_SUFFIX)) {
+            for (Student student : students) {
+                if (!student.getIsCommittee()) {
+                    continue;
+                }
+                ExportRow row = join(student.getCommitCamp(), student.getID(), ExportRow.ROLE_COMMITTEE, student);
+                csv.write(row);
+                columnar.write(row);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static ExportRow join(String campName, String studentID, String role, Student student) {
+        if (student == null) {
+            // registered under an ID that is no longer in students.txt
+            return new ExportRow(campName, studentID, "", "", role, 0);
+        }
+        return new ExportRow(campName, studentID, student.getName(), student.getFaculty(), role,
+                student.getPoints());
+    }
+
+    private static void createDirectory() {
+        File directory = new File(FILE_PATH);
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+    }
+}
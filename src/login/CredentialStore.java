@@ -0,0 +1,193 @@
+package login;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import user.Staff;
+import user.StaffManager;
+import user.Student;
+import user.StudentManager;
+import user.User;
+
+/**
+ * Keeps the passwords of users.
+ * The user objects held by StudentManager and StaffManager are the source of
+ * truth, a change of password is made on the object and recorded as a single
+ * journal entry of the user's file, so it costs the same I/O however many
+ * users there are.
+ * Passwords are stored as salted PBKDF2 hashes. Rows still holding a password
+ * in clear are hashed the first time their user logs in.
+ * Hashing runs on a small fixed pool of workers, so a burst of logins queues
+ * up instead of taking every CPU from the other sessions. A successful check
+ * is remembered for a few minutes, so checking the same password again, eg
+ * before a change of password, does not hash it again.
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class CredentialStore {
+	// How long a successful check is remembered
+	private static final long VERIFIED_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+	// Expired entries are swept once the cache holds this many
+	private static final int VERIFIED_SWEEP_SIZE = 10000;
+
+	private static CredentialStore instance;
+
+	/**
+	 * A successful check of a password against a stored hash.
+	 * Holds a fast digest of the password, never the password itself.
+	 */
+	private static class Verified {
+		private final String stored;
+		private final byte[] digest;
+		private final long expiry;
+
+		private Verified(String stored, byte[] digest, long expiry) {
+			this.stored = stored;
+			this.digest = digest;
+			this.expiry = expiry;
+		}
+	}
+
+	private final ExecutorService hashers;
+	private final ConcurrentHashMap<String, Verified> verified = new ConcurrentHashMap<>();
+	private final AtomicInteger hasherCount = new AtomicInteger();
+
+	/**
+	 * Private constructor, use getInstance
+	 * Starts one hashing worker per two processors
+	 */
+	private CredentialStore() {
+		int workers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		hashers = Executors.newFixedThreadPool(workers, runnable -> {
+			Thread thread = new Thread(runnable, "CAMs-password-" + hasherCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Allow other class to get the Instance of CredentialStore
+	 * @return the instance of the CredentialStore
+	 */
+	public static synchronized CredentialStore getInstance() {
+		if (instance == null) {
+			instance = new CredentialStore();
+		}
+		return instance;
+	}
+
+	/**
+	 * Check a password entered by a user
+	 * A password in clear that matches is replaced by its hash
+	 * @param user the user logging in or changing password
+	 * @param input the password entered
+	 * @return true if the password matches, otherwise false
+	 */
+	public boolean checkPassword(User user, String input) {
+		String stored = user.getPassword();
+		Verified previous = verified.get(user.getID());
+		if (previous != null && previous.stored.equals(stored) && previous.expiry > System.currentTimeMillis()
+				&& MessageDigest.isEqual(previous.digest, digest(stored, input))) {
+			return true;
+		}
+
+		Boolean valid = runOnHasher(() -> PasswordHash.verify(input, stored));
+		if (valid == null || !valid) {
+			return false;
+		}
+		// migrate a row saved in clear, it is still a valid login if hashing fails
+		if (PasswordHash.isHashed(stored) || changePassword(user, input)) {
+			remember(user, input);
+		}
+		return true;
+	}
+
+	/**
+	 * Change the password of a user and record the change
+	 * @param user the user, as held by its manager
+	 * @param newPassword the new password
+	 * @return true if the password has been changed, false if it could not be hashed
+	 */
+	public boolean changePassword(User user, String newPassword) {
+		String hash = runOnHasher(() -> PasswordHash.hash(newPassword));
+		if (hash == null) {
+			return false;
+		}
+		user.setPassword(hash);
+		verified.remove(user.getID());
+		if (user instanceof Student) {
+			StudentManager.getInstance().update((Student) user);
+		} else if (user instanceof Staff) {
+			StaffManager.getInstance().update((Staff) user);
+		} else {
+			throw new IllegalArgumentException("Unsupported user type");
+		}
+		return true;
+	}
+
+	/**
+	 * Hash a password to store it, eg for users created outside of CAMs
+	 * @param password the password in clear
+	 * @return the hash to store as the password of the user
+	 */
+	public static String hashPassword(String password) {
+		return PasswordHash.hash(password);
+	}
+
+	/**
+	 * Run a hashing task on the workers and wait for it
+	 * @param task the task
+	 * @return the result of the task, or null if it failed or the wait was interrupted
+	 */
+	private <T> T runOnHasher(Callable<T> task) {
+		try {
+			return hashers.submit(task).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			System.out.println("Error while hashing password: " + e.getCause());
+		}
+		return null;
+	}
+
+	/**
+	 * Remember a successful check of the current password of a user
+	 * @param user the user
+	 * @param input the password entered
+	 */
+	private void remember(User user, String input) {
+		long now = System.currentTimeMillis();
+		if (verified.size() >= VERIFIED_SWEEP_SIZE) {
+			verified.values().removeIf(entry -> entry.expiry <= now);
+		}
+		String stored = user.getPassword();
+		verified.put(user.getID(), new Verified(stored, digest(stored, input), now + VERIFIED_TTL_MILLIS));
+	}
+
+	/**
+	 * Fast digest of a password bound to the stored hash it was checked against
+	 * @param stored the stored hash
+	 * @param input the password entered
+	 * @return the digest
+	 */
+	private static byte[] digest(String stored, String input) {
+		try {
+			MessageDigest sha = MessageDigest.getInstance("SHA-256");
+			sha.update(stored.getBytes(StandardCharsets.UTF_8));
+			sha.update((byte) 0);
+			return sha.digest(input.getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package login;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Salted PBKDF2 password hashes, stored as
+ * PBKDF2$ITERATIONS$SALT$HASH with the salt and hash in Base64
+ * The iterations are stored with each hash so they can be raised later without
+ * breaking existing hashes
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+final class PasswordHash {
+	private static final String PREFIX = "PBKDF2";
+	private static final String SEPARATOR = "$";
+	private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+	private static final int ITERATIONS = 120000;
+	private static final int SALT_BYTES = 16;
+	private static final int HASH_BITS = 256;
+
+	private static final SecureRandom random = new SecureRandom();
+
+	/**
+	 * Private constructor to prevent instantiation of PasswordHash
+	 */
+	private PasswordHash() {
+	}
+
+	/**
+	 * Check if a stored password is a hash, rows saved by earlier versions hold
+	 * the password in clear
+	 * @param stored the stored password
+	 * @return true if the stored password is a hash
+	 */
+	static boolean isHashed(String stored) {
+		return stored.startsWith(PREFIX + SEPARATOR);
+	}
+
+	/**
+	 * Hash a password with a new random salt
+	 * @param password the password in clear
+	 * @return the hash to store
+	 */
+	static String hash(String password) {
+		byte[] salt = new byte[SALT_BYTES];
+		random.nextBytes(salt);
+		Base64.Encoder base64 = Base64.getEncoder();
+		return PREFIX + SEPARATOR + ITERATIONS + SEPARATOR + base64.encodeToString(salt) + SEPARATOR
+				+ base64.encodeToString(pbkdf2(password, salt, ITERATIONS));
+	}
+
+	/**
+	 * Verify a password against a stored hash, or against a stored password in
+	 * clear
+	 * @param password the password entered
+	 * @param stored the stored hash or password
+	 * @return true if the password matches
+	 */
+	static boolean verify(String password, String stored) {
+		if (!isHashed(stored)) {
+			return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+					stored.getBytes(StandardCharsets.UTF_8));
+		}
+		String[] parts = stored.split("\\" + SEPARATOR);
+		if (parts.length != 4) {
+			return false;
+		}
+		try {
+			Base64.Decoder base64 = Base64.getDecoder();
+			byte[] expected = base64.decode(parts[3]);
+			byte[] actual = pbkdf2(password, base64.decode(parts[2]), Integer.parseInt(parts[1]));
+			return MessageDigest.isEqual(expected, actual);
+		} catch (IllegalArgumentException e) {
+			// malformed iterations or Base64
+			return false;
+		}
+	}
+
+	private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+		PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+		try {
+			return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+		} catch (GeneralSecurityException e) {
+			// every Java platform is required to support PBKDF2WithHmacSHA256
+			throw new IllegalStateException(e);
+		} finally {
+			spec.clearPassword();
+		}
+	}
+}
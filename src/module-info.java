@@ -1,8 +1,8 @@
-/**
- * 
- */
-/**
- * 
- */
-module camstesting {
+/**
+ * 
+ */
+/**
+ * 
+ */
+module camstesting {
 }
\ No newline at end of file
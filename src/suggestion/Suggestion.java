@@ -1,53 +1,124 @@
-package suggestion;
-
-
-/**
- * Suggestion provided by the camp comittee member
- * contains the attributes of a suggestion
- * @author group1
- * @version 1.0
- * @since 24 nov 2023
- */
-public class Suggestion {
-    private String campName;
-    private String content;
-    private String madeBy;
-
-    /**
-     * @param campName name of the camp
-     * @param content the description of the suggestio
-     * @param madeBy the author of the suggestion
-    */
-    public Suggestion(String campName, String content, String madeBy) {
-        this.campName = campName;
-        this.content = content;
-        this.madeBy = madeBy;
-    }
-    
-
-    /**
-    * Retrieve the suggestion creator
-    * @return the id of the suggestion creator
-    */
-    public String getMadeBy() {
-        return madeBy;
-    }
-
-    
-    /**
-    * Retrieve the name of the camp that the suggestion is given
-    * @return the name of the camp
-    */
-    public String getCampName() {
-        return campName;
-    }
-
-    
-    /**
-    * Retrieve the description of the suggestion
-    * @return the description of the suggestion
-    */
-    public String getContent() {
-        return content;
-    }
-}
+package suggestion;
+
+
+/**
+ * Suggestion provided by the camp comittee member
+ * contains the attributes of a suggestion
+ * Each suggestion has a numeric ID that never changes once assigned, and
+ * records the ID of its author as well as their name
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class Suggestion {
+    // ID of a suggestion read from a file saved before suggestions had IDs
+    public static final int NO_ID = -1;
+
+    private int id;
+    private String campName;
+    private String content;
+    private String madeBy;
+    private String madeByID;
+
+    /**
+     * @param id the ID of the suggestion
+     * @param campName name of the camp
+     * @param content the description of the suggestio
+     * @param madeBy the name of the author of the suggestion
+     * @param madeByID the student ID of the author, or null if it is not known
+    */
+    public Suggestion(int id, String campName, String content, String madeBy, String madeByID) {
+        this.id = id;
+        this.campName = campName;
+        this.content = content;
+        this.madeBy = madeBy;
+        this.madeByID = madeByID;
+    }
+
+    /**
+     * Create a suggestion whose author ID is not known, as read from a file
+     * saved before suggestions recorded it
+     * @param id the ID of the suggestion
+     * @param campName name of the camp
+     * @param content the description of the suggestio
+     * @param madeBy the name of the author of the suggestion
+    */
+    public Suggestion(int id, String campName, String content, String madeBy) {
+        this(id, campName, content, madeBy, null);
+    }
+
+    /**
+     * Create a suggestion without an ID, one is assigned when it is added to the SuggestionManager
+     * @param campName name of the camp
+     * @param content the description of the suggestio
+     * @param madeBy the author of the suggestion
+    */
+    public Suggestion(String campName, String content, String madeBy) {
+        this(NO_ID, campName, content, madeBy);
+    }
+
+    /**
+    * Retrieve the ID of the suggestion
+    * @return the ID, or NO_ID if none has been assigned yet
+    */
+    public int getID() {
+        return id;
+    }
+
+    /**
+    * Assign the ID of a suggestion that has none
+    * @param id the ID
+    */
+    void assignID(int id) {
+        if (this.id != NO_ID) {
+            throw new IllegalStateException("Suggestion " + this.id + " already has an ID");
+        }
+        this.id = id;
+    }
+    
+
+    /**
+    * Retrieve the suggestion creator
+    * @return the id of the suggestion creator
+    */
+    public String getMadeBy() {
+        return madeBy;
+    }
+
+    /**
+    * Retrieve the student ID of the suggestion creator
+    * @return the student ID, or null if it is not known
+    */
+    public String getMadeByID() {
+        return madeByID;
+    }
+
+    /**
+    * Record the student ID of the creator of a suggestion that has none
+    * @param madeByID the student ID
+    */
+    void assignMadeByID(String madeByID) {
+        if (this.madeByID != null) {
+            throw new IllegalStateException("Suggestion " + id + " already has an author ID");
+        }
+        this.madeByID = madeByID;
+    }
+
+    
+    /**
+    * Retrieve the name of the camp that the suggestion is given
+    * @return the name of the camp
+    */
+    public String getCampName() {
+        return campName;
+    }
+
+    
+    /**
+    * Retrieve the description of the suggestion
+    * @return the description of the suggestion
+    */
+    public String getContent() {
+        return content;
+    }
+}
@@ -1,122 +1,261 @@
-package suggestion;
-
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-//import java.util.Iterator;
-import user.Student;
-
-
-/**
- * This class serves as an abstraction that handles the reading of data from suggestions.txt Database
- * @author group1
- * @version 1.0
- * @since 24 nov 2023
- */
-public class SuggestionManager {
-    private List<Suggestion> suggestions = new ArrayList<>();
-    private static SuggestionManager instance;
-
-    
-	/**
-	* Reads from suggestions.txt. Handles any exception caused when reading
- 	*/
-    private SuggestionManager() {
-        try {
-            this.suggestions = SuggestionTextDB.readSuggestions("suggestions.txt");
-        } catch (IOException e) {
-            System.out.println("IOException while reading suggestions: " + e.getMessage());
-            // continuing with an empty list.
-            this.suggestions = new ArrayList<>();
-        }
-    }
-
-    
-    /**
-    * Allow other class to get the Instance of SuggestionManager
- 	* @return the instance of the SuggestionManager
- 	*/
-    public static SuggestionManager getInstance() {
-        if (instance == null) {
-            instance = new SuggestionManager();
-        }
-        return instance;
-    }
-
-    /**
-    * Allow other class to retrieve the List of Suggestion
- 	* @return the list of Suggestion object
- 	*/
-    public List<Suggestion> getSuggestions() {
-        return suggestions;
-    }
-
-    
-    /**
-     * create the new suggestion and add it to the suggestion list
- 	* @param campName name of the camp the suggestion is for
- 	* @param student the owner of the the suggestion
- 	* @param content the description of the suggestion
- 	*/
-    public void addSuggestion(String campName, Student student, String content) {
-        Suggestion suggestion = new Suggestion(campName, student.getName(), content);
-        suggestions.add(suggestion);
-        this.save();
-    }
-
-    
-    /**
-    * Method used to remove a suggestion
- 	* @param suggestion the suggestion object to remove
- 	*/
-    public void removeSuggestion(Suggestion suggestion) {
-        // searches through suggestions to remove the passed in suggestion from the list
-        int indexToRemove = suggestions.indexOf(suggestion);
-
-        if (indexToRemove != -1) {
-            suggestions.remove(indexToRemove);
-            this.save();
-            System.out.println("Suggestion removed successfully.");
-        } else {
-            System.out.println("Suggestion not found in the list.");
-        }
-    }
-
-    
-    /**
-    * Retrieves all the suggestions for a specific camp
-  	* @param campName the name of the camp
-  	*/
-    public void listCampSuggestionsByIndex(String campName) {
-        System.out.println("Suggestions for " + campName + ":");
-        for (Suggestion suggestion : suggestions) {
-            if (suggestion.getCampName().equals(campName)) {
-                System.out.println(suggestions.indexOf(suggestion) + ". " + "By " + suggestion.getMadeBy() + ": "
-                        + suggestion.getContent());
-            }
-        }
-    }
-
-    /**
-     * Retrieve the suggestion based on its index in database
-     * @param index the index of of suggetion object
-     * @return the suggestion that match the index
-     */
-    public Suggestion getSuggestionByIndex(int index) {
-        return suggestions.get(index);
-    }
-
-    
-    /**
-    * Saves all the suggestion into suggestions.txt
-    * handles the Exception when writing to suggestions.txt
-    */
-    public void save() {
-        try {
-            SuggestionTextDB.saveSuggestions("suggestions.txt", suggestions);
-        } catch (IOException e) {
-            System.out.println("IOException while saving suggestions: " + e.getMessage());
-        }
-    }
-
-}
+package suggestion;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+//import java.util.Iterator;
+import user.Student;
+import user.StudentManager;
+import utils.TextJournal;
+
+
+/**
+ * This class serves as an abstraction that handles the reading of data from suggestions.txt Database
+ * Suggestions are held by ID in insertion order, with an index by camp, so
+ * removing a suggestion or listing those of one camp does not scan every suggestion
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class SuggestionManager {
+    private final LinkedHashMap<Integer, Suggestion> suggestions = new LinkedHashMap<>();
+    private final Map<String, Map<Integer, Suggestion>> suggestionsByCamp = new HashMap<>();
+    private TextJournal<Suggestion> journal;
+    private int nextID;
+    private static SuggestionManager instance;
+
+    
+	/**
+	* Reads from suggestions.txt and replays its journal, and builds the index by camp.
+	* Handles any exception caused when reading
+ 	*/
+    private SuggestionManager() {
+        journal = SuggestionTextDB.openSuggestionJournal("suggestions.txt");
+        List<Suggestion> loaded;
+        try {
+            loaded = journal.load();
+        } catch (IOException e) {
+            System.out.println("IOException while reading suggestions: " + e.getMessage());
+            // continuing with an empty list.
+            loaded = new ArrayList<>();
+        }
+        for (Suggestion suggestion : loaded) {
+            nextID = Math.max(nextID, suggestion.getID() + 1);
+        }
+        // suggestions saved before they had IDs are numbered in the order they are listed,
+        // which is the index they used to be shown with
+        // and their authors are found by name when only one student has it, the
+        // students are only needed for such rows
+        boolean assigned = false;
+        for (Suggestion suggestion : loaded) {
+            boolean changed = false;
+            if (suggestion.getID() == Suggestion.NO_ID) {
+                suggestion.assignID(nextID++);
+                changed = true;
+            }
+            if (suggestion.getMadeByID() == null) {
+                Student author = StudentManager.getInstance().getAuthor(null, suggestion.getMadeBy());
+                if (author != null) {
+                    suggestion.assignMadeByID(author.getID());
+                    changed = true;
+                }
+            }
+            if (changed) {
+                assigned = true;
+                try {
+                    journal.update(suggestion);
+                } catch (IOException e) {
+                    System.out.println("IOException while saving suggestions: " + e.getMessage());
+                }
+            }
+            index(suggestion);
+        }
+        if (assigned) {
+            save();
+        }
+    }
+
+    
+    /**
+    * Allow other class to get the Instance of SuggestionManager
+ 	* @return the instance of the SuggestionManager
+ 	*/
+    public static synchronized SuggestionManager getInstance() {
+        if (instance == null) {
+            instance = new SuggestionManager();
+        }
+        return instance;
+    }
+
+    /**
+    * Allow other class to retrieve the List of Suggestion
+ 	* @return a copy of the list of Suggestion object, in the order they were made
+ 	*/
+    public synchronized List<Suggestion> getSuggestions() {
+        return new ArrayList<>(suggestions.values());
+    }
+
+    
+    /**
+     * create the new suggestion and add it to the suggestion list
+ 	* @param campName name of the camp the suggestion is for
+ 	* @param student the owner of the the suggestion
+ 	* @param content the description of the suggestion
+ 	*/
+    public synchronized void addSuggestion(String campName, Student student, String content) {
+        Suggestion suggestion = new Suggestion(nextID++, campName, content, student.getName(), student.getID());
+        index(suggestion);
+        try {
+            journal.insert(suggestion);
+        } catch (IOException e) {
+            System.out.println("IOException while saving suggestions: " + e.getMessage());
+        }
+    }
+
+    
+    /**
+    * Method used to remove a suggestion, recorded as a single delete in the journal
+ 	* @param suggestion the suggestion object to remove
+ 	*/
+    public synchronized void removeSuggestion(Suggestion suggestion) {
+        if (unindex(suggestion)) {
+            try {
+                journal.delete(suggestion);
+            } catch (IOException e) {
+                System.out.println("IOException while saving suggestions: " + e.getMessage());
+            }
+            System.out.println("Suggestion removed successfully.");
+        } else {
+            System.out.println("Suggestion not found in the list.");
+        }
+    }
+
+
+    /**
+    * Approve several suggestions as one batch: each author gets a point per
+    * suggestion approved and the suggestions are removed.
+    * suggestions.txt and students.txt are each written once for the whole batch,
+    * the suggestions first so that a batch cut short can never be approved twice
+    * @param ids the IDs of the suggestions to approve
+    * @return the number of suggestions approved
+    */
+    public synchronized int approveSuggestions(Collection<Integer> ids) {
+        List<Suggestion> approved = removeSuggestions(ids);
+        StudentManager studentMgr = StudentManager.getInstance();
+        Map<Student, Integer> points = new LinkedHashMap<>();
+        for (Suggestion suggestion : approved) {
+            points.merge(getAuthor(suggestion), 1, Integer::sum);
+        }
+        studentMgr.addPoints(points);
+        return approved.size();
+    }
+
+    /**
+    * Reject several suggestions as one batch, suggestions.txt is written once
+    * @param ids the IDs of the suggestions to reject
+    * @return the number of suggestions rejected
+    */
+    public synchronized int rejectSuggestions(Collection<Integer> ids) {
+        return removeSuggestions(ids).size();
+    }
+
+    /**
+    * Remove the suggestions with the given IDs and record them as one batch of deletes
+    * @param ids the IDs of the suggestions
+    * @return the suggestions removed
+    */
+    private List<Suggestion> removeSuggestions(Collection<Integer> ids) {
+        List<Suggestion> removed = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            Suggestion suggestion = suggestions.get(id);
+            if (suggestion == null) {
+                System.out.println("Suggestion " + id + " not found in the list.");
+            } else if (unindex(suggestion)) {
+                removed.add(suggestion);
+            }
+        }
+        try {
+            journal.commit(Collections.<Suggestion>emptyList(), removed);
+        } catch (IOException e) {
+            System.out.println("IOException while saving suggestions: " + e.getMessage());
+        }
+        return removed;
+    }
+
+    
+    /**
+    * Retrieves all the suggestions for a specific camp
+  	* @param campName the name of the camp
+  	*/
+    public synchronized void listCampSuggestionsByIndex(String campName) {
+        System.out.println("Suggestions for " + campName + ":");
+        for (Suggestion suggestion : suggestionsByCamp.getOrDefault(campName, Collections.emptyMap()).values()) {
+            System.out.println(suggestion.getID() + ". " + "By " + suggestion.getMadeBy() + ": "
+                    + suggestion.getContent());
+        }
+    }
+
+    /**
+     * Retrieve the suggestion based on its ID
+     * @param id the ID of the suggetion object
+     * @return the suggestion that match the ID, or null if there is none
+     */
+    public synchronized Suggestion getSuggestionByID(int id) {
+        return suggestions.get(id);
+    }
+
+    /**
+     * Find the student who made a suggestion
+     * @param suggestion the suggestion
+     * @return the author, or null if they cannot be found
+     */
+    public Student getAuthor(Suggestion suggestion) {
+        return StudentManager.getInstance().getAuthor(suggestion.getMadeByID(), suggestion.getMadeBy());
+    }
+
+    /**
+     * Add a suggestion to the suggestions and the index by camp
+     * @param suggestion the suggestion, with its ID assigned
+     */
+    private void index(Suggestion suggestion) {
+        suggestions.put(suggestion.getID(), suggestion);
+        suggestionsByCamp.computeIfAbsent(suggestion.getCampName(), campName -> new LinkedHashMap<>())
+                .put(suggestion.getID(), suggestion);
+    }
+
+    /**
+     * Remove a suggestion from the suggestions and the index by camp
+     * @param suggestion the suggestion
+     * @return true if the suggestion was held, otherwise false
+     */
+    private boolean unindex(Suggestion suggestion) {
+        if (!suggestions.remove(suggestion.getID(), suggestion)) {
+            return false;
+        }
+        Map<Integer, Suggestion> ofCamp = suggestionsByCamp.get(suggestion.getCampName());
+        ofCamp.remove(suggestion.getID());
+        if (ofCamp.isEmpty()) {
+            suggestionsByCamp.remove(suggestion.getCampName());
+        }
+        return true;
+    }
+
+    
+    /**
+    * Saves all the suggestion into suggestions.txt by folding the journal into it
+    * handles the Exception when writing to suggestions.txt
+    */
+    public synchronized void save() {
+        try {
+            journal.compact();
+        } catch (IOException e) {
+            System.out.println("IOException while saving suggestions: " + e.getMessage());
+        }
+    }
+
+}
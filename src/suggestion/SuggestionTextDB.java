@@ -1,85 +1,115 @@
-package suggestion;
-
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.StringTokenizer;
-
-import utils.TextDB;
-
-
-/**
- * Read and Write to suggestions.txt Database
- * Inherits from TextDB from the utils package
- * @author group1
- * @version 1.0
- * @since 24 nov 2023
- */ 
-public class SuggestionTextDB extends TextDB<Suggestion> {
-
-	
-	/**
-	 * create the Suggestion Object after reading each line from the suggestions.txt file
-	 * @param line read from suggestions.txt
-	 */
-    @Override
-    public Suggestion createObject(String line) {
-        StringTokenizer star = new StringTokenizer(line, SEPARATOR);
-
-        String campName = star.nextToken().trim();
-        String content = star.nextToken().trim();
-        
-        String madeBy = star.nextToken().trim();
-
-        return new Suggestion(campName, content, madeBy);
-    }
-
-    /**
-     * convert each Suggestion object into a string eg CAMPNAME|DESCRIPTION|OWNER
-     * @param suggestion object from the suggestion arraylist
-     * @return the string
-     */
-    @Override
-    public String objectToString(Suggestion suggestion) {
-        StringBuilder st = new StringBuilder();
-        st.append(suggestion.getCampName().trim()).append(SEPARATOR);
-        st.append(suggestion.getMadeBy().trim()).append(SEPARATOR);
-        st.append(suggestion.getContent().trim());
-        
-        return st.toString();
-    }
-
-    
-    /**
-     * Read suggestion from suggestions.txt
-     * @param filename , name of file "suggestions.txt"
-     * @return suggestions, the list of suggestions in an array list
-     * @throws IOException if an error occurs during the reading process
-     */
-    public static ArrayList<Suggestion> readSuggestions(String filename) throws IOException {
-        List<String> stringArray = read(filename);
-        ArrayList<Suggestion> suggestions = new ArrayList<>();
-        SuggestionTextDB textDB = new SuggestionTextDB(); // Create an instance
-        for (String st : stringArray) {
-            suggestions.add(textDB.createObject(st));
-        }
-        return suggestions;
-    }
-
-    
-    /**
-     * write the data back into suggestions.txt
-     * @param filename, name of file to be written
-     * @param suggestionss, the list of suggestions object
-     * @throws IOException, if an error occurs while writing to suggestions.txt
-     */
-    public static void saveSuggestions(String filename, List<Suggestion> suggestions) throws IOException {
-        List<String> suggestionStrings = new ArrayList<>();
-        SuggestionTextDB textDB = new SuggestionTextDB(); // Create an instance
-        for (Suggestion suggestion : suggestions) {
-            suggestionStrings.add(textDB.objectToString(suggestion));
-        }
-
-        write(filename, suggestionStrings);
-    }
+package suggestion;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import utils.TextDB;
+import utils.TextJournal;
+import utils.TextRecord;
+
+
+/**
+ * Read and Write to suggestions.txt Database
+ * Inherits from TextDB from the utils package
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */ 
+public class SuggestionTextDB extends TextDB<Suggestion> {
+
+	
+	/**
+	 * create the Suggestion Object after reading each line from the suggestions.txt file
+	 * Rows saved before suggestions had IDs start with the camp name instead of a
+	 * numeric ID and get Suggestion.NO_ID, rows saved before they recorded the author
+	 * ID have no author ID field
+	 * @param record line read from suggestions.txt
+	 */
+    @Override
+    public Suggestion createObject(TextRecord record) {
+        if (!isID(record.field(0))) {
+            return new Suggestion(record.field(0), record.field(1), record.field(2));
+        }
+        int id = Integer.parseInt(record.field(0));
+        String campName = record.field(1);
+        String content = record.field(2);
+        
+        String madeBy = record.field(3);
+        String madeByID = record.fieldCount() > 4 ? record.field(4) : null;
+
+        return new Suggestion(id, campName, content, madeBy, madeByID);
+    }
+
+    /**
+     * Check whether the first field of a row is an ID, rows saved before IDs
+     * start with the camp name
+     * @param field the first field of the row
+     * @return true if the field parses as an ID
+     */
+    private static boolean isID(String field) {
+        try {
+            Integer.parseInt(field);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * convert each Suggestion object into a string eg ID|CAMPNAME|DESCRIPTION|OWNER|OWNER_ID
+     * the OWNER_ID is left out if it is not known
+     * @param suggestion object from the suggestion arraylist
+     * @return the string
+     */
+    @Override
+    public String objectToString(Suggestion suggestion) {
+        StringBuilder st = new StringBuilder();
+        st.append(suggestion.getID()).append(SEPARATOR);
+        st.append(suggestion.getCampName().trim()).append(SEPARATOR);
+        st.append(suggestion.getContent().trim()).append(SEPARATOR);
+        st.append(suggestion.getMadeBy().trim());
+        if (suggestion.getMadeByID() != null) {
+            st.append(SEPARATOR).append(suggestion.getMadeByID().trim());
+        }
+        
+        return st.toString();
+    }
+
+    
+    /**
+     * Read suggestion from suggestions.txt
+     * @param filename , name of file "suggestions.txt"
+     * @return suggestions, the list of suggestions in an array list
+     * @throws IOException if an error occurs during the reading process
+     */
+    public static ArrayList<Suggestion> readSuggestions(String filename) throws IOException {
+        return new SuggestionTextDB().readObjects(filename);
+    }
+
+    
+    /**
+     * write the data back into suggestions.txt
+     * @param filename, name of file to be written
+     * @param suggestionss, the list of suggestions object
+     * @throws IOException, if an error occurs while writing to suggestions.txt
+     */
+    public static void saveSuggestions(String filename, List<Suggestion> suggestions) throws IOException {
+        List<String> suggestionStrings = new ArrayList<>();
+        SuggestionTextDB textDB = new SuggestionTextDB(); // Create an instance
+        for (Suggestion suggestion : suggestions) {
+            suggestionStrings.add(textDB.objectToString(suggestion));
+        }
+
+        write(filename, suggestionStrings);
+    }
+
+    /**
+     * Open suggestions.txt in journaled storage mode
+     * @param filename, name of file "suggestions.txt"
+     * @return the journal of the file
+     */
+    public static TextJournal<Suggestion> openSuggestionJournal(String filename) {
+        return new SuggestionTextDB().openJournal(filename);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package user;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Committee members of each camp ranked by their points, kept up to date by
+ * StudentManager as points and committee roles change.
+ * Each camp holds its members sorted by points, for the top N or the full
+ * ranking, and a count of members per number of points in a Fenwick tree, so
+ * the rank of a member is found in O(log n) without walking the ranking.
+ * Members with the same points share a rank.
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class CommitteeLeaderboard {
+    // Commit camp of a student who is not a committee member of any camp
+    private static final String NO_CAMP = "NO_CAMP";
+
+    /**
+     * A member as ranked, with the points they had when they were ranked
+     */
+    private static class Entry {
+        private final Student student;
+        private final int points;
+
+        private Entry(Student student, int points) {
+            this.student = student;
+            this.points = points;
+        }
+    }
+
+    private static final Comparator<Entry> BY_POINTS = Comparator.<Entry>comparingInt(entry -> -entry.points)
+            .thenComparing(entry -> entry.student.getID());
+
+    /**
+     * The committee members of one camp
+     */
+    private static class Board {
+        private final TreeSet<Entry> ranking = new TreeSet<>(BY_POINTS);
+        // members by points, counts[i] is the Fenwick node of points i - 1
+        private int[] counts = new int[64];
+
+        private void add(Entry entry, int delta) {
+            if (entry.points >= counts.length - 1) {
+                grow(entry.points);
+            }
+            if (delta > 0) {
+                ranking.add(entry);
+            } else {
+                ranking.remove(entry);
+            }
+            for (int i = entry.points + 1; i < counts.length; i += i & -i) {
+                counts[i] += delta;
+            }
+        }
+
+        /**
+         * Count the members with more points
+         */
+        private int countAbove(int points) {
+            int atMost = 0;
+            for (int i = Math.min(points + 1, counts.length - 1); i > 0; i -= i & -i) {
+                atMost += counts[i];
+            }
+            return ranking.size() - atMost;
+        }
+
+        private void grow(int points) {
+            int length = counts.length;
+            while (points >= length - 1) {
+                length *= 2;
+            }
+            counts = new int[length];
+            for (Entry entry : ranking) {
+                for (int i = entry.points + 1; i < counts.length; i += i & -i) {
+                    counts[i]++;
+                }
+            }
+        }
+    }
+
+    private final TreeMap<String, Board> boards = new TreeMap<>();
+    private final Map<Student, Entry> entries = new HashMap<>();
+    private final Map<Student, String> campOf = new HashMap<>();
+
+    /**
+     * Rank the committee members among the given students
+     * @param students the students
+     */
+    public CommitteeLeaderboard(Collection<Student> students) {
+        for (Student student : students) {
+            update(student);
+        }
+    }
+
+    /**
+     * Rank a student again after their points or committee role changed
+     * @param student the student
+     */
+    public synchronized void update(Student student) {
+        Entry entry = entries.remove(student);
+        if (entry != null) {
+            String campName = campOf.remove(student);
+            Board board = boards.get(campName);
+            board.add(entry, -1);
+            if (board.ranking.isEmpty()) {
+                boards.remove(campName);
+            }
+        }
+        String campName = student.getCommitCamp();
+        if (!student.getIsCommittee() || campName == null || campName.equals(NO_CAMP)) {
+            return;
+        }
+        entry = new Entry(student, Math.max(0, student.getPoints()));
+        entries.put(student, entry);
+        campOf.put(student, campName);
+        boards.computeIfAbsent(campName, name -> new Board()).add(entry, 1);
+    }
+
+    /**
+     * Get the names of the camps with committee members, in order
+     * @return the names of the camps
+     */
+    public synchronized List<String> getCampNames() {
+        return new ArrayList<>(boards.keySet());
+    }
+
+    /**
+     * Get the committee members of a camp with the most points
+     * @param campName the name of the camp
+     * @param n the number of members wanted
+     * @return up to n members, from the most points down
+     */
+    public synchronized List<Student> getTop(String campName, int n) {
+        Board board = boards.get(campName);
+        if (board == null) {
+            return new ArrayList<>();
+        }
+        List<Student> top = new ArrayList<>(Math.max(0, Math.min(n, board.ranking.size())));
+        for (Entry entry : board.ranking) {
+            if (top.size() >= n) {
+                break;
+            }
+            top.add(entry.student);
+        }
+        return top;
+    }
+
+    /**
+     * Get every committee member of a camp, from the most points down
+     * @param campName the name of the camp
+     * @return the members in order of rank
+     */
+    public synchronized List<Student> getRanking(String campName) {
+        return getTop(campName, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get the rank of a committee member in their camp, 1 for the most points
+     * @param student the student
+     * @return the rank, or -1 if the student is not a committee member
+     */
+    public synchronized int getRank(Student student) {
+        Entry entry = entries.get(student);
+        if (entry == null) {
+            return -1;
+        }
+        return boards.get(campOf.get(student)).countAbove(entry.points) + 1;
+    }
+
+    /**
+     * Get the number of committee members ranked
+     * @return the number of committee members
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
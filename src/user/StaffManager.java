@@ -1,84 +1,123 @@
-package user;
-
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-
-/**
- * This class serves as an abstraction that handles the reading of data from Staff.txt Database
- * @author group1
- * @version 1.0
- * @since 24 nov 2023
- */
-public class StaffManager {
-
-	//private Staff staff;
-	public static ArrayList<Staff> staffs = new ArrayList<Staff>();
-	//when login input here the staff
-	private static StaffManager instance;
-	
-    /**
-    * Reads from Staff.txt. Handles any exception caused when reading
-    */	
-    private StaffManager() {
-        try {
-            staffs = StaffTextDB.readStaffs("staffs.txt");
-        } catch (IOException e) {
-            System.out.println("IOException while reading staffs: " + e.getMessage());
-            // continuing with an empty list.
-            staffs = new ArrayList<>();
-        }
-    }
-    
-    
-    /**
-    * Allow other class to get the Instance of StaffManager
-    * @return the instance of the StaffManager
-    */
-    public static StaffManager getInstance() {
-        if (instance == null) {
-            instance = new StaffManager();
-        }
-        return instance;
-    }
-
-    
-    /**
-    * Allow other class to retrieve the List of Staff
-    * @return the list of Staff object
-    */
-    public List<Staff> getStaffs() {
-        return staffs;
-    }
-
-    
-    /**
-     * Find if the staff exist by their name
-     * @param staffName
-     * @return the staff object if found
-     */
-    public Staff getStaffByName(String staffName) {
-        for (Staff staff : staffs) {
-            if (staff.getName().equals(staffName)) {
-                return staff; // Found the staff, return it
-            }
-        }
-        // If no staff with the given name is found, return null or handle it as
-        // needed
-        return null;
-    }
-
-    /**
-    * Calls the StaffTextDB Class' method to save the staff to Txt file
-    */
-    public void saveStaffsTxt(){
-    	try {
-    		StaffTextDB.saveStaffs("staffs.txt", staffs);
-    	}catch(IOException e) {
-    		System.out.println("IOException while saving Staffs " + e.getMessage());
-    	}
-    }
-    
-	
-}
+package user;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import utils.TextJournal;
+
+
+/**
+ * This class serves as an abstraction that handles the reading of data from Staff.txt Database
+ * Staff are also kept in a UserDirectory for lookup by ID and indexed by name
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class StaffManager {
+
+	//private Staff staff;
+	public static ArrayList<Staff> staffs = new ArrayList<Staff>();
+	//when login input here the staff
+	private static StaffManager instance;
+	private UserDirectory<Staff> directory;
+	private final Map<String, Staff> staffByName = new HashMap<>();
+	private TextJournal<Staff> journal;
+	
+    /**
+    * Reads from Staff.txt and replays its journal. Handles any exception caused when reading
+    */	
+    private StaffManager() {
+        journal = StaffTextDB.openStaffJournal("staffs.txt");
+        try {
+            staffs = new ArrayList<>(journal.load());
+        } catch (IOException e) {
+            System.out.println("IOException while reading staffs: " + e.getMessage());
+            // continuing with an empty list.
+            staffs = new ArrayList<>();
+        }
+        directory = new UserDirectory<>(staffs);
+        for (Staff staff : staffs) {
+            // the first staff listed with a name is the one found by name
+            staffByName.putIfAbsent(staff.getName(), staff);
+        }
+    }
+    
+    
+    /**
+    * Allow other class to get the Instance of StaffManager
+    * @return the instance of the StaffManager
+    */
+    public static synchronized StaffManager getInstance() {
+        if (instance == null) {
+            instance = new StaffManager();
+        }
+        return instance;
+    }
+
+    
+    /**
+    * Allow other class to retrieve the List of Staff
+    * @return the list of Staff object
+    */
+    public List<Staff> getStaffs() {
+        return staffs;
+    }
+
+    
+    /**
+     * Allow other class to look up staff by ID
+     * @return the directory of staff
+     */
+    public UserDirectory<Staff> getStaffDirectory() {
+        return directory;
+    }
+
+    
+    /**
+     * Find a staff by their ID, ignoring case
+     * @param staffID the ID of the staff
+     * @return the staff object if found, otherwise null
+     */
+    public Staff getStaffByID(String staffID) {
+        return directory.get(staffID);
+    }
+
+    
+    /**
+     * Find if the staff exist by their name
+     * @param staffName
+     * @return the staff object if found
+     */
+    public Staff getStaffByName(String staffName) {
+        return staffByName.get(staffName);
+    }
+
+    /**
+    * Record the change of a single staff in the journal of staffs.txt
+    * Handles any exception when writing to the journal
+    * @param staff the staff object that has been changed
+    */
+    public synchronized void update(Staff staff) {
+        directory.put(staff);
+        try {
+            journal.update(staff);
+        } catch (IOException e) {
+            System.out.println("IOException while saving Staffs " + e.getMessage());
+        }
+    }
+
+    /**
+    * Saves the staff array list into staffs.txt by folding the journal into it
+    */
+    public synchronized void saveStaffsTxt(){
+    	try {
+    		journal.compact();
+    	}catch(IOException e) {
+    		System.out.println("IOException while saving Staffs " + e.getMessage());
+    	}
+    }
+    
+	
+}
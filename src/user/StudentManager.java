@@ -1,104 +1,304 @@
-package user;
-
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-
-/**
- * This class serves as an abstraction that handles the reading of data from Student.txt Database
- * @author group1
- * @version 1.0
- * @since 24 nov 2023
- */
-public class StudentManager {
-    private List<Student> students = new ArrayList<>();
-    private static StudentManager instance;
-
-    
-    /**
-	 * Reads from students.txt. Handles any exception caused when reading
-	 */
-    public StudentManager() {
-        try {
-            this.students = StudentTextDB.readStudents("students.txt");
-        } catch (IOException e) {
-            System.out.println("IOException while reading students: " + e.getMessage());
-            // continuing with an empty list.
-            this.students = new ArrayList<>();
-        }
-    }
-
- 	/**
- 	 * Allow other class to get the Instance of StudentManager
- 	 * @return the instance of the StudentManager
- 	 */
-    public static StudentManager getInstance() {
-        if (instance == null) {
-            instance = new StudentManager();
-        }
-        return instance;
-    }
-
-    
-    /**
-     * Allow other class to retrieve the List of Students
-     * @return the list of Student object
-     */
-    public List<Student> getStudents() {
-        return students;
-    }
-
-    
-    /**
-     * Find if the student exist by their name
-     * @param studentName
-     * @return the student object if found
-     */
-    public Student getStudentByName(String studentName) {
-        for (Student student : students) {
-            if (student.getName().equals(studentName)) {
-                return student; // Found the student, return it
-            }
-        }
-        // If no student with the given name is found, return null or handle it as
-        // needed
-        return null;
-    }
-
-    
-    /**
-    * Add points for the student after they have replied to an enquiry. Increment the point by 1
-    * @param student the student object that needs to be updated
-    */
-    public void addPoint(Student student) {
-    	
-        // searches through students
-        int studentIndex = students.indexOf(student);
-        if (studentIndex == -1)
-        {
-        	System.out.println("Error. Student doesn't exist");
-        	return;
-        }
-        
-        int points = students.get(studentIndex).getPoints();
-        
-       
-        points++;
-        students.get(studentIndex).setPoints(points);
-        this.save();
-    }
-
-
-    /**
-    * Saves the student array list into students.txt
-    * Handles any exception when writing to students.txt file
-    */
-    public void save() {
-        try {
-            StudentTextDB.saveStudents("students.txt", students);
-        } catch (IOException e) {
-            System.out.println("IOException while saving students: " + e.getMessage());
-        }
-    }
-}
+package user;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import utils.FlushMetrics;
+import utils.TextJournal;
+
+
+/**
+ * This class serves as an abstraction that handles the reading of data from Student.txt Database
+ * Students are also kept in a UserDirectory for lookup by ID and indexed by
+ * name, names are not unique so each name maps to every student holding it
+ * Points awarded one at a time are applied to the student at once but written
+ * behind: students with new points are flushed to the journal together at
+ * most a second later, or as soon as enough of them are waiting
+ * Committee members are ranked per camp in a CommitteeLeaderboard
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class StudentManager {
+    // Point awards wait at most this long to be written, or until this many students have some
+    public static final long AWARD_FLUSH_DELAY_MILLIS = 1000;
+    public static final int AWARD_FLUSH_STUDENTS = 256;
+
+    private List<Student> students = new ArrayList<>();
+    private TextJournal<Student> journal;
+    private UserDirectory<Student> directory;
+    private final Map<String, List<Student>> studentsByName = new HashMap<>();
+    private CommitteeLeaderboard leaderboard;
+    // points awarded to each student since the last flush
+    private final Map<Student, Integer> pendingAwards = new LinkedHashMap<>();
+    private int pendingPoints;
+    private final FlushMetrics awardMetrics = new FlushMetrics();
+    private final ScheduledExecutorService awardFlusher;
+    private static StudentManager instance;
+
+    
+    /**
+	 * Reads from students.txt and replays its journal. Handles any exception caused when reading
+	 */
+    public StudentManager() {
+        journal = StudentTextDB.openStudentJournal("students.txt");
+        try {
+            this.students = journal.load();
+        } catch (IOException e) {
+            System.out.println("IOException while reading students: " + e.getMessage());
+            // continuing with an empty list.
+            this.students = new ArrayList<>();
+        }
+        directory = new UserDirectory<>(students);
+        for (Student student : students) {
+            studentsByName.computeIfAbsent(student.getName(), name -> new ArrayList<>(1)).add(student);
+        }
+        leaderboard = new CommitteeLeaderboard(students);
+        awardFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CAMs-point-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        awardFlusher.scheduleWithFixedDelay(this::flushPoints, AWARD_FLUSH_DELAY_MILLIS, AWARD_FLUSH_DELAY_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+ 	/**
+ 	 * Allow other class to get the Instance of StudentManager
+ 	 * @return the instance of the StudentManager
+ 	 */
+    public static synchronized StudentManager getInstance() {
+        if (instance == null) {
+            instance = new StudentManager();
+        }
+        return instance;
+    }
+
+    
+    /**
+     * Allow other class to retrieve the List of Students
+     * @return the list of Student object
+     */
+    public List<Student> getStudents() {
+        return students;
+    }
+
+    
+    /**
+     * Allow other class to look up students by ID
+     * @return the directory of students
+     */
+    public UserDirectory<Student> getStudentDirectory() {
+        return directory;
+    }
+
+    
+    /**
+     * Allow other class to rank the committee members
+     * @return the leaderboard of committee members
+     */
+    public CommitteeLeaderboard getCommitteeLeaderboard() {
+        return leaderboard;
+    }
+
+    
+    /**
+     * Find a student by their ID, ignoring case
+     * @param studentID the ID of the student
+     * @return the student object if found, otherwise null
+     */
+    public Student getStudentByID(String studentID) {
+        return directory.get(studentID);
+    }
+
+    
+    /**
+     * Find if the student exist by their name
+     * @param studentName
+     * @return the first student object with the name if found, otherwise null
+     */
+    public synchronized Student getStudentByName(String studentName) {
+        List<Student> named = studentsByName.get(studentName);
+        return named == null ? null : named.get(0);
+    }
+
+    
+    /**
+     * Find every student with a name
+     * @param studentName the name
+     * @return the students with the name, empty if there are none
+     */
+    public synchronized List<Student> getStudentsByName(String studentName) {
+        return new ArrayList<>(studentsByName.getOrDefault(studentName, Collections.<Student>emptyList()));
+    }
+
+    
+    /**
+     * Find the author of an enquiry or a suggestion by their student ID.
+     * Records saved before they held the ID of their author only have the
+     * name, they are matched by name if exactly one student has it
+     * @param studentID the student ID of the author, or null if it is not known
+     * @param studentName the name of the author
+     * @return the student object if found, otherwise null
+     */
+    public synchronized Student getAuthor(String studentID, String studentName) {
+        if (studentID != null) {
+            return directory.get(studentID);
+        }
+        List<Student> named = studentsByName.get(studentName);
+        return named != null && named.size() == 1 ? named.get(0) : null;
+    }
+
+    
+    /**
+    * Add points for the student after they have replied to an enquiry. Increment the point by 1
+    * The point is written with the next flush of point awards
+    * @param student the student object that needs to be updated
+    */
+    public synchronized void addPoint(Student student) {
+        if (student == null || directory.get(student.getID()) != student) {
+        	System.out.println("Error. Student doesn't exist");
+        	return;
+        }
+        student.setPoints(student.getPoints() + 1);
+        directory.put(student);
+        leaderboard.update(student);
+        pendingAwards.merge(student, 1, Integer::sum);
+        pendingPoints++;
+        if (pendingAwards.size() >= AWARD_FLUSH_STUDENTS) {
+            awardFlusher.execute(this::flushPoints);
+        }
+    }
+
+
+    /**
+    * Write the points awarded since the last flush as one batch in the journal of students.txt
+    * Called by the point flusher, and before the students are saved
+    */
+    public synchronized void flushPoints() {
+        if (pendingAwards.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Student> awarded = new ArrayList<>(pendingAwards.keySet());
+        try {
+            journal.commit(awarded, Collections.<Student>emptyList());
+        } catch (IOException e) {
+            // the awards stay pending and are tried again with the next flush
+            System.out.println("IOException while saving students: " + e.getMessage());
+            return;
+        }
+        pendingAwards.clear();
+        pendingPoints = 0;
+        awardMetrics.record(awarded.size(), System.nanoTime() - start);
+    }
+
+
+    /**
+    * Retrieve the number of points awarded but not written yet
+    * @return the number of points waiting for the next flush
+    */
+    public synchronized int getPendingPoints() {
+        return pendingPoints;
+    }
+
+
+    /**
+    * Retrieve the number of students with points awarded but not written yet
+    * @return the number of students waiting for the next flush
+    */
+    public synchronized int getPendingStudents() {
+        return pendingAwards.size();
+    }
+
+
+    /**
+    * Retrieve the metrics of the flushes of point awards
+    * @return the metrics
+    */
+    public FlushMetrics getAwardMetrics() {
+        return awardMetrics;
+    }
+
+
+    /**
+    * Add points to several students at once, eg after a batch of approvals.
+    * The changes are recorded as one batch in the journal of students.txt
+    * @param points the points to add to each student
+    */
+    public synchronized void addPoints(Map<Student, Integer> points) {
+        List<Student> changed = new ArrayList<>(points.size());
+        for (Map.Entry<Student, Integer> entry : points.entrySet()) {
+            Student student = entry.getKey();
+            if (student == null || directory.get(student.getID()) != student) {
+                System.out.println("Error. Student doesn't exist");
+                continue;
+            }
+            student.setPoints(student.getPoints() + entry.getValue());
+            directory.put(student);
+            leaderboard.update(student);
+            changed.add(student);
+        }
+        try {
+            journal.commit(changed, Collections.<Student>emptyList());
+            // the pending awards are only written by the rows just committed
+            for (Student student : changed) {
+                clearPending(student);
+            }
+        } catch (IOException e) {
+            System.out.println("IOException while saving students: " + e.getMessage());
+        }
+    }
+
+
+    /**
+    * Record the change of a single student in the journal of students.txt
+    * Handles any exception when writing to the journal
+    * @param student the student object that has been changed
+    */
+    public synchronized void update(Student student) {
+        directory.put(student);
+        leaderboard.update(student);
+        try {
+            journal.update(student);
+            clearPending(student);
+        } catch (IOException e) {
+            System.out.println("IOException while saving students: " + e.getMessage());
+        }
+    }
+
+
+    /**
+    * Drop the pending awards of a student whose whole row has been written
+    * @param student the student
+    */
+    private void clearPending(Student student) {
+        Integer points = pendingAwards.remove(student);
+        if (points != null) {
+            pendingPoints -= points;
+        }
+    }
+
+
+    /**
+    * Saves the student array list into students.txt by folding the journal into it,
+    * after writing the pending point awards
+    * Handles any exception when writing to students.txt file
+    */
+    public synchronized void save() {
+        flushPoints();
+        try {
+            journal.compact();
+        } catch (IOException e) {
+            System.out.println("IOException while saving students: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package user;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Directory of users keyed by their uppercase ID, used by StudentManager and
+ * StaffManager to find a user without walking the whole list
+ * Lookups are safe from any number of threads while users are added or changed
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class UserDirectory<T extends User> {
+    private final ConcurrentHashMap<String, T> users;
+
+    /**
+     * Create a directory of the given users
+     * @param users the users to add
+     */
+    public UserDirectory(Collection<? extends T> users) {
+        this.users = new ConcurrentHashMap<>(Math.max(16, users.size() * 4 / 3 + 1));
+        for (T user : users) {
+            put(user);
+        }
+    }
+
+    /**
+     * Find a user by ID, ignoring case
+     * @param ID the ID entered
+     * @return the user, or null if there is no user with the ID
+     */
+    public T get(String ID) {
+        return users.get(key(ID));
+    }
+
+    /**
+     * Add a user, or publish the change of a user already in the directory so
+     * that every thread looking it up sees the change
+     * @param user the user added or changed
+     */
+    public void put(T user) {
+        users.put(key(user.getID()), user);
+    }
+
+    /**
+     * Remove a user
+     * @param ID the ID of the user
+     * @return the user removed, or null if there is no user with the ID
+     */
+    public T remove(String ID) {
+        return users.remove(key(ID));
+    }
+
+    /**
+     * Get the number of users in the directory
+     * @return the number of users
+     */
+    public int size() {
+        return users.size();
+    }
+
+    /**
+     * Get a read only view of the users in the directory, in no particular order
+     * @return the users
+     */
+    public Collection<T> values() {
+        return Collections.unmodifiableCollection(users.values());
+    }
+
+    private static String key(String ID) {
+        return ID.trim().toUpperCase(Locale.ROOT);
+    }
+}
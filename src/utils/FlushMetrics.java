@@ -0,0 +1,76 @@
+package utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the flushes of a write-behind buffer and how long they took
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class FlushMetrics {
+    private long flushes;
+    private long flushedItems;
+    private long totalNanos;
+    private long lastNanos;
+    private long maxNanos;
+
+    /**
+     * Record a flush
+     * @param items the number of items written by the flush
+     * @param nanos how long the flush took, in nanoseconds
+     */
+    public synchronized void record(int items, long nanos) {
+        flushes++;
+        flushedItems += items;
+        totalNanos += nanos;
+        lastNanos = nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**
+     * Retrieve the number of flushes
+     * @return the number of flushes
+     */
+    public synchronized long getFlushes() {
+        return flushes;
+    }
+
+    /**
+     * Retrieve the number of items written by all flushes
+     * @return the number of items
+     */
+    public synchronized long getFlushedItems() {
+        return flushedItems;
+    }
+
+    /**
+     * Retrieve how long the last flush took
+     * @return the time in microseconds
+     */
+    public synchronized long getLastMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(lastNanos);
+    }
+
+    /**
+     * Retrieve how long the slowest flush took
+     * @return the time in microseconds
+     */
+    public synchronized long getMaxMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxNanos);
+    }
+
+    /**
+     * Retrieve how long a flush took on average
+     * @return the time in microseconds, 0 if there has been no flush
+     */
+    public synchronized long getMeanMicros() {
+        return flushes == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos / flushes);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return flushes + " flushes of " + flushedItems + " items, last " + getLastMicros() + " us, mean "
+                + getMeanMicros() + " us, max " + getMaxMicros() + " us";
+    }
+}
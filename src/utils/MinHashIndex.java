@@ -0,0 +1,190 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the documents whose text is nearly the same as a given text, by the
+ * Jaccard similarity of their sets of shingles of three characters.
+ * Each text is summarised by a MinHash signature, the smallest hash of its
+ * shingles under each of a number of hash functions, the fraction of equal
+ * positions in two signatures estimates the similarity of the texts.
+ * Signatures are split into bands, and only the documents sharing a whole
+ * band with the text are compared, so a lookup does not compare the text
+ * with every document. With 16 bands of 4 hashes, texts with a similarity of
+ * 0.5 share a band about 2 times out of 3, and of 0.8 almost always.
+ * Safe for concurrent use.
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class MinHashIndex<T> {
+    private static final int SHINGLE_LENGTH = 3;
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    private static final int HASHES = BANDS * ROWS;
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final Map<T, int[]> signatures = new HashMap<>();
+    // band number and hash of the band -> documents having that band
+    private final Map<Long, Set<T>> buckets = new HashMap<>();
+
+    /**
+     * A document nearly the same as the text looked up, with its estimated
+     * similarity
+     * @param <T> the type of documents
+     */
+    public static class Match<T> {
+        private final T document;
+        private final double similarity;
+
+        private Match(T document, double similarity) {
+            this.document = document;
+            this.similarity = similarity;
+        }
+
+        /**
+         * Retrieve the document found
+         * @return the document
+         */
+        public T getDocument() {
+            return document;
+        }
+
+        /**
+         * Retrieve the estimated Jaccard similarity of the texts, from 0 to 1
+         * @return the similarity
+         */
+        public double getSimilarity() {
+            return similarity;
+        }
+    }
+
+    /**
+     * Add a document, or replace its text if it is already indexed
+     * @param document the document
+     * @param text the text of the document
+     */
+    public synchronized void put(T document, String text) {
+        remove(document);
+        int[] signature = signature(text);
+        signatures.put(document, signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(signature, band), key -> new HashSet<>()).add(document);
+        }
+    }
+
+    /**
+     * Remove a document
+     * @param document the document
+     */
+    public synchronized void remove(T document) {
+        int[] signature = signatures.remove(document);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(signature, band);
+            Set<T> bucket = buckets.get(key);
+            bucket.remove(document);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the number of documents indexed
+     * @return the number of documents
+     */
+    public synchronized int size() {
+        return signatures.size();
+    }
+
+    /**
+     * Find the documents nearly the same as a text
+     * @param text the text
+     * @param threshold the lowest estimated similarity of a document found, from 0 to 1
+     * @param k the largest number of documents wanted
+     * @return up to k documents, from the most similar down
+     */
+    public synchronized List<Match<T>> findSimilar(String text, double threshold, int k) {
+        int[] signature = signature(text);
+        Set<T> candidates = new LinkedHashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<T> bucket = buckets.get(bandKey(signature, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        List<Match<T>> matches = new ArrayList<>();
+        for (T candidate : candidates) {
+            int[] other = signatures.get(candidate);
+            int equal = 0;
+            for (int i = 0; i < HASHES; i++) {
+                if (signature[i] == other[i]) {
+                    equal++;
+                }
+            }
+            double similarity = (double) equal / HASHES;
+            if (similarity >= threshold) {
+                matches.add(new Match<>(candidate, similarity));
+            }
+        }
+        matches.sort((a, b) -> Double.compare(b.similarity, a.similarity));
+        return matches.size() > k ? new ArrayList<>(matches.subList(0, Math.max(0, k))) : matches;
+    }
+
+    /**
+     * Compute the MinHash signature of the shingles of a text, the words of the
+     * text are compared in lower case, separated by single spaces
+     */
+    private static int[] signature(String text) {
+        String normalized = String.join(" ", TextIndex.tokenize(text));
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, normalized.length() - SHINGLE_LENGTH + 1);
+        for (int s = 0; s < shingles; s++) {
+            int end = Math.min(normalized.length(), s + SHINGLE_LENGTH);
+            long shingle = normalized.substring(s, end).hashCode();
+            for (int i = 0; i < HASHES; i++) {
+                int hash = (int) mix(shingle ^ SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = mix(key * 31 + signature[i]);
+        }
+        return key;
+    }
+
+    /**
+     * Scramble the bits of a value, the finaliser of SplitMix64
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
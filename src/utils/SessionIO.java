@@ -0,0 +1,130 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Routes System.in and System.out to the streams of the session served by the
+ * current thread, so that the console menus can serve many sessions at once.
+ * Threads without a session keep using the original console streams.
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class SessionIO {
+    private static final ThreadLocal<InputStream> sessionIn = new ThreadLocal<>();
+    private static final ThreadLocal<OutputStream> sessionOut = new ThreadLocal<>();
+    private static boolean installed = false;
+
+    /**
+     * Private constructor to prevent instantiation of SessionIO
+     */
+    private SessionIO() {
+    }
+
+    /**
+     * Replace System.in and System.out with streams routed by thread
+     */
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        InputStream consoleIn = System.in;
+        PrintStream consoleOut = System.out;
+        System.setIn(new RoutedInputStream(consoleIn));
+        System.setOut(new PrintStream(new RoutedOutputStream(consoleOut), true));
+        installed = true;
+    }
+
+    /**
+     * Route System.in and System.out of the current thread to a session
+     * @param in the input stream of the session
+     * @param out the output stream of the session
+     */
+    public static void bind(InputStream in, OutputStream out) {
+        sessionIn.set(in);
+        sessionOut.set(out);
+    }
+
+    /**
+     * Route System.in and System.out of the current thread back to the console
+     */
+    public static void unbind() {
+        sessionIn.remove();
+        sessionOut.remove();
+    }
+
+    /**
+     * Input stream reading from the session of the current thread.
+     * Closing it is ignored, menus close their scanners on exit but the session
+     * owns the underlying stream
+     */
+    private static class RoutedInputStream extends InputStream {
+        private final InputStream console;
+
+        private RoutedInputStream(InputStream console) {
+            this.console = console;
+        }
+
+        private InputStream current() {
+            InputStream in = sessionIn.get();
+            return in == null ? console : in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return current().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return current().read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return current().available();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Output stream writing to the session of the current thread
+     */
+    private static class RoutedOutputStream extends OutputStream {
+        private final OutputStream console;
+
+        private RoutedOutputStream(OutputStream console) {
+            this.console = console;
+        }
+
+        private OutputStream current() {
+            OutputStream out = sessionOut.get();
+            return out == null ? console : out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            current().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            current().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            current().flush();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
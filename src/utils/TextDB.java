@@ -1,77 +1,168 @@
-package utils;
-
-import java.io.*;
-import java.util.List;
-import java.util.Scanner;
-import java.util.ArrayList;
-
-
-/**
- * Abstract class TextDB, inherited by other TextDB classes to read and write to database
- * @author group1
- * @version 1.0
- * @since 24 nov 2023
- */
-public abstract class TextDB<T> {
-    public static final String SEPARATOR = "|";
-
-    
-    /**
-     * Abstract class createObject used to create object after reading from database
-     * @param line input read from database
-     * @return the object type
-     */
-    // implement both with specific object struture in subclasses
-    public abstract T createObject(String line);
-
-    
-    /**
-     * Abstract class objectToString  used to convert object to a database string
-     * @param object the type of object
-     * @return the object in string format
-     */
-    public abstract String objectToString(T object);
-
-    
-    
-    /**
-     * Write to database 
-     * @param fileName in txt format
-     * @param data the string to be written
-     * @throws IOException if an error occurs when writing to database 
-     */
-    protected static void write(String fileName, List<String> data) throws IOException {
-        PrintWriter out = new PrintWriter(new FileWriter(fileName));
-
-        try {
-            for (String line : data) {
-                out.println(line);
-            }
-        } finally {
-            out.close();
-        }
-    }
-
-    
-    /**
-     * Read from database
-     * @param fileName to be read
-     * @return the list of strings read from database
-     * @throws IOException if an error occurs when writing to database 
-     */
-    protected static List<String> read(String fileName) throws IOException {
-        List<String> data = new ArrayList<>();
-        Scanner scanner = new Scanner(new FileInputStream(fileName));
-
-        try {
-            while (scanner.hasNextLine()) {
-                data.add(scanner.nextLine());
-            }
-        } finally {
-            scanner.close();
-        }
-
-        return data;
-    }
-
-}
+package utils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+
+/**
+ * Abstract class TextDB, inherited by other TextDB classes to read and write to database
+ * Files are read through NIO, large files are memory-mapped, and lines are
+ * split on newlines and the separator directly over the bytes of the file
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public abstract class TextDB<T> {
+    public static final String SEPARATOR = "|";
+
+    // Files from this size are memory-mapped instead of read into the heap
+    private static final int MAP_THRESHOLD = 1 << 20;
+
+    
+    /**
+     * Abstract class createObject used to create object after reading from database
+     * @param record line read from database, its fields are decoded when asked for
+     * @return the object type
+     */
+    // implement both with specific object struture in subclasses
+    public abstract T createObject(TextRecord record);
+
+    
+    /**
+     * Create an object from a line held as a string
+     * @param line input read from database
+     * @return the object type
+     */
+    public T createObject(String line) {
+        return createObject(TextRecord.of(line));
+    }
+
+    
+    /**
+     * Abstract class objectToString  used to convert object to a database string
+     * @param object the type of object
+     * @return the object in string format
+     */
+    public abstract String objectToString(T object);
+
+    
+    /**
+     * Open the file in journaled storage mode, mutations are appended to a log
+     * instead of rewriting the whole file
+     * @param fileName in txt format
+     * @return the journal of the file
+     */
+    public TextJournal<T> openJournal(String fileName) {
+        return new TextJournal<>(fileName, this);
+    }
+
+    
+    
+    /**
+     * Write to database, in UTF-8 like the files are read
+     * @param fileName in txt format
+     * @param data the string to be written
+     * @throws IOException if an error occurs when writing to database 
+     */
+    protected static void write(String fileName, List<String> data) throws IOException {
+        PrintWriter out = new PrintWriter(
+                Files.newBufferedWriter(Paths.get(fileName), StandardCharsets.UTF_8));
+
+        try {
+            for (String line : data) {
+                out.println(line);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    
+    /**
+     * Read from database
+     * @param fileName to be read
+     * @return the list of strings read from database
+     * @throws IOException if an error occurs when writing to database 
+     */
+    protected static List<String> read(String fileName) throws IOException {
+        List<String> data = new ArrayList<>();
+        readRecords(fileName, record -> data.add(record.line()));
+        return data;
+    }
+
+    
+    /**
+     * Read objects from database, creating each object straight from the bytes
+     * of its line
+     * @param fileName to be read
+     * @return the list of objects read from database
+     * @throws IOException if an error occurs when reading from database
+     */
+    protected ArrayList<T> readObjects(String fileName) throws IOException {
+        ArrayList<T> objects = new ArrayList<>();
+        readRecords(fileName, record -> objects.add(createObject(record)));
+        return objects;
+    }
+
+    
+    /**
+     * Pass each line of a file to an action
+     * Lines end with a newline, optionally preceded by a carriage return, and
+     * a last line without a newline is kept unless it is empty
+     * @param fileName to be read
+     * @param action called with each line, the record is reused for the next line
+     * @throws IOException if an error occurs when reading from database
+     */
+    private static void readRecords(String fileName, Consumer<TextRecord> action) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            TextRecord record = new TextRecord();
+            long size = channel.size();
+            long position = 0;
+            // a mapping holds at most 2GB, larger files are read in regions ending on a newline
+            while (position < size) {
+                int length = (int) Math.min(size - position, Integer.MAX_VALUE);
+                ByteBuffer buffer = length < MAP_THRESHOLD ? readRegion(channel, position, length)
+                        : channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int start = 0;
+                for (int i = 0; i < length; i++) {
+                    if (buffer.get(i) == '\n') {
+                        record.reset(buffer, start, i);
+                        action.accept(record);
+                        start = i + 1;
+                    }
+                }
+                if (position + length == size) {
+                    if (start < length) {
+                        record.reset(buffer, start, length);
+                        action.accept(record);
+                    }
+                    return;
+                }
+                if (start == 0) {
+                    throw new IOException("Line longer than 2GB in " + fileName);
+                }
+                position += start;
+            }
+        }
+    }
+
+    
+    private static ByteBuffer readRegion(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("File truncated while reading");
+            }
+        }
+        return buffer;
+    }
+
+}
@@ -0,0 +1,383 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * An inverted index of documents by the words of their text fields, for
+ * searching them by words typed approximately.
+ * Text is split into lower case tokens of letters and digits. Each token of a
+ * query matches the words equal to it, the words it is a prefix of, and the
+ * words within a small edit distance of it, with decreasing weights. Documents
+ * are ranked by the sum over the query tokens of their best match, weighted by
+ * how rare the word is and by the weight of the field holding it, and the top
+ * k are returned.
+ * Words are kept sorted, so the words with a prefix are found in O(log n + k).
+ * Fuzzy matches only compare the query token with the words sharing enough of
+ * its pairs of letters to be close enough, found in an index of the words by
+ * pair of letters, stopping each comparison as soon as the distance is too
+ * large.
+ * Query tokens are scored from the rarest to the most common, counting only
+ * the documents satisfying the condition of the search. Once k such documents
+ * match, or once any matches and a token is found in most documents, a token
+ * matching more documents than already matched only adds to the documents
+ * already matched, so a word found in almost every document does not make
+ * every document a candidate.
+ * Documents are added, replaced and removed incrementally. Safe for concurrent
+ * use, the condition and the order of documents are applied under the lock of
+ * the index, so they must not wait for a thread updating the index.
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class TextIndex<T> {
+    private static final double EXACT_WEIGHT = 1.0;
+    private static final double PREFIX_WEIGHT = 0.6;
+    private static final double FUZZY_WEIGHT = 0.5;
+    // Query tokens shorter than this are not matched fuzzily, almost every short word is close to them
+    private static final int MIN_FUZZY_LENGTH = 4;
+    // Query tokens this long or longer may be two edits away from a word
+    private static final int TWO_EDITS_LENGTH = 8;
+
+    private final int[] fieldWeights;
+    private final Comparator<? super T> order;
+    // word -> document -> weighted count of the word in the document
+    private final TreeMap<String, Map<T, Integer>> postings = new TreeMap<>();
+    // document -> word -> weighted count, to remove the document again
+    private final Map<T, Map<String, Integer>> documents = new HashMap<>();
+    // pair of letters -> words holding it, to find the candidates of fuzzy matches
+    private final Map<String, Set<String>> bigrams = new HashMap<>();
+
+    /**
+     * A document found by a search, with its score
+     * @param <T> the type of documents
+     */
+    public static class Hit<T> {
+        private final T document;
+        private final double score;
+
+        private Hit(T document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+
+        /**
+         * Retrieve the document found
+         * @return the document
+         */
+        public T getDocument() {
+            return document;
+        }
+
+        /**
+         * Retrieve the score of the document, higher for a better match
+         * @return the score
+         */
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Create an empty index
+     * @param order the order of documents with the same score
+     * @param fieldWeights the weight of each text field of a document, in the
+     *                     order the fields are given to put
+     */
+    public TextIndex(Comparator<? super T> order, int... fieldWeights) {
+        this.order = order;
+        this.fieldWeights = fieldWeights.clone();
+    }
+
+    /**
+     * Split a text into lower case words of letters and digits
+     * @param text the text
+     * @return the words, in order
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Add a document, or replace its text if it is already indexed
+     * @param document the document
+     * @param fields the text of each field, in the order of the field weights,
+     *               null for an empty field
+     */
+    public synchronized void put(T document, String... fields) {
+        remove(document);
+        Map<String, Integer> words = new HashMap<>();
+        for (int f = 0; f < fields.length && f < fieldWeights.length; f++) {
+            for (String token : tokenize(fields[f])) {
+                words.merge(token, fieldWeights[f], Integer::sum);
+            }
+        }
+        if (words.isEmpty()) {
+            return;
+        }
+        documents.put(document, words);
+        for (Map.Entry<String, Integer> word : words.entrySet()) {
+            postings.computeIfAbsent(word.getKey(), this::addWord).put(document, word.getValue());
+        }
+    }
+
+    /**
+     * Remove a document
+     * @param document the document
+     */
+    public synchronized void remove(T document) {
+        Map<String, Integer> words = documents.remove(document);
+        if (words == null) {
+            return;
+        }
+        for (String word : words.keySet()) {
+            Map<T, Integer> containing = postings.get(word);
+            containing.remove(document);
+            if (containing.isEmpty()) {
+                postings.remove(word);
+                removeWord(word);
+            }
+        }
+    }
+
+    private Map<T, Integer> addWord(String word) {
+        for (int i = 0; i + 2 <= word.length(); i++) {
+            bigrams.computeIfAbsent(word.substring(i, i + 2), gram -> new HashSet<>()).add(word);
+        }
+        return new HashMap<>();
+    }
+
+    private void removeWord(String word) {
+        for (int i = 0; i + 2 <= word.length(); i++) {
+            String gram = word.substring(i, i + 2);
+            Set<String> words = bigrams.get(gram);
+            if (words != null && words.remove(word) && words.isEmpty()) {
+                bigrams.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the number of documents indexed
+     * @return the number of documents
+     */
+    public synchronized int size() {
+        return documents.size();
+    }
+
+    /**
+     * Find the documents best matching a query
+     * @param query the words searched, possibly misspelt or incomplete
+     * @param k the largest number of documents wanted
+     * @return up to k documents, from the best match down
+     */
+    public List<T> search(String query, int k) {
+        return search(query, k, document -> true);
+    }
+
+    /**
+     * Find the documents best matching a query among those satisfying a
+     * condition
+     * @param query the words searched, possibly misspelt or incomplete
+     * @param k the largest number of documents wanted
+     * @param condition the condition on the documents, tested while scoring
+     *                  so that up to k documents satisfying it are returned
+     * @return up to k documents, from the best match down
+     */
+    public List<T> search(String query, int k, Predicate<? super T> condition) {
+        List<Hit<T>> hits = searchHits(query, k, condition);
+        List<T> found = new ArrayList<>(hits.size());
+        for (Hit<T> hit : hits) {
+            found.add(hit.getDocument());
+        }
+        return found;
+    }
+
+    /**
+     * Find the documents best matching a query, with their scores
+     * @param query the words searched, possibly misspelt or incomplete
+     * @param k the largest number of documents wanted
+     * @param condition the condition on the documents, tested while scoring
+     * @return up to k hits, from the best match down
+     */
+    public synchronized List<Hit<T>> searchHits(String query, int k, Predicate<? super T> condition) {
+        return top(score(query, k, condition), k);
+    }
+
+    /**
+     * Score every document matching a query and satisfying a condition
+     */
+    private Map<T, Double> score(String query, int k, Predicate<? super T> condition) {
+        List<Map<String, Double>> tokens = new ArrayList<>();
+        for (String token : tokenize(query)) {
+            tokens.add(matchWords(token));
+        }
+        tokens.sort(Comparator.comparingInt(this::countPostings));
+
+        Map<T, Double> scores = new HashMap<>();
+        // whether each document met so far satisfies the condition
+        Map<T, Boolean> satisfying = new HashMap<>();
+        for (Map<String, Double> words : tokens) {
+            // weight of a match of each word, from its match with the token and its rarity
+            Map<String, Double> weights = new HashMap<>();
+            for (Map.Entry<String, Double> word : words.entrySet()) {
+                int containing = postings.get(word.getKey()).size();
+                weights.put(word.getKey(), word.getValue() * Math.log(1.0 + (double) documents.size() / containing));
+            }
+            int matching = countPostings(words);
+            if (!scores.isEmpty() && matching > scores.size()
+                    && (scores.size() >= k || matching > documents.size() / 2)) {
+                // only add to the documents already matched
+                for (Map.Entry<String, Double> weight : weights.entrySet()) {
+                    Map<T, Integer> containing = postings.get(weight.getKey());
+                    for (Map.Entry<T, Double> entry : scores.entrySet()) {
+                        Integer count = containing.get(entry.getKey());
+                        if (count != null) {
+                            double score = weight.getValue() * (1.0 + Math.log(count));
+                            entry.setValue(entry.getValue() + score);
+                        }
+                    }
+                }
+                continue;
+            }
+            // the best match of this token in each document
+            Map<T, Double> best = new HashMap<>();
+            for (Map.Entry<String, Double> weight : weights.entrySet()) {
+                for (Map.Entry<T, Integer> posting : postings.get(weight.getKey()).entrySet()) {
+                    if (!satisfying.computeIfAbsent(posting.getKey(), condition::test)) {
+                        continue;
+                    }
+                    double score = weight.getValue() * (1.0 + Math.log(posting.getValue()));
+                    best.merge(posting.getKey(), score, Math::max);
+                }
+            }
+            for (Map.Entry<T, Double> entry : best.entrySet()) {
+                scores.merge(entry.getKey(), entry.getValue(), Double::sum);
+            }
+        }
+        return scores;
+    }
+
+    private int countPostings(Map<String, Double> words) {
+        int count = 0;
+        for (String word : words.keySet()) {
+            count += postings.get(word).size();
+        }
+        return count;
+    }
+
+    /**
+     * Find the words matching a query token, with the weight of the match
+     */
+    private Map<String, Double> matchWords(String token) {
+        Map<String, Double> words = new HashMap<>();
+        for (String word : postings.subMap(token, true, token + Character.MAX_VALUE, false).keySet()) {
+            words.put(word, word.length() == token.length() ? EXACT_WEIGHT : PREFIX_WEIGHT);
+        }
+        // a token that is a word of the index is taken as typed right
+        if (token.length() < MIN_FUZZY_LENGTH || postings.containsKey(token)) {
+            return words;
+        }
+        int maxEdits = token.length() >= TWO_EDITS_LENGTH ? 2 : 1;
+        // count the pairs of letters of the token found in each word, a word
+        // within maxEdits of the token shares at least its longest length - 1 - 2 * maxEdits
+        Map<String, Integer> shared = new HashMap<>();
+        for (int i = 0; i + 2 <= token.length(); i++) {
+            Set<String> holding = bigrams.get(token.substring(i, i + 2));
+            if (holding != null) {
+                for (String word : holding) {
+                    shared.merge(word, 1, Integer::sum);
+                }
+            }
+        }
+        for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+            String word = candidate.getKey();
+            if (Math.abs(word.length() - token.length()) > maxEdits || words.containsKey(word)
+                    || candidate.getValue() < Math.max(word.length(), token.length()) - 1 - 2 * maxEdits) {
+                continue;
+            }
+            int distance = editDistance(token, word, maxEdits);
+            if (distance <= maxEdits) {
+                words.put(word, FUZZY_WEIGHT * (maxEdits + 1 - distance) / maxEdits);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Compute the Levenshtein distance between two words, giving up once it
+     * exceeds a bound
+     * @return the distance, or more than max if it exceeds max
+     */
+    static int editDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Keep the k best scores in a heap whose head is the worst kept
+     */
+    private List<Hit<T>> top(Map<T, Double> scores, int k) {
+        if (k <= 0 || scores.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Comparator<Hit<T>> better = Comparator.<Hit<T>>comparingDouble(Hit::getScore)
+                .thenComparing(Hit::getDocument, Collections.reverseOrder(order));
+        PriorityQueue<Hit<T>> heap = new PriorityQueue<>(Math.min(k, scores.size()) + 1, better);
+        for (Map.Entry<T, Double> entry : scores.entrySet()) {
+            Hit<T> hit = new Hit<>(entry.getKey(), entry.getValue());
+            if (heap.size() < k) {
+                heap.add(hit);
+            } else if (better.compare(hit, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+        List<Hit<T>> hits = new ArrayList<>(heap);
+        hits.sort(better.reversed());
+        return hits;
+    }
+}
@@ -0,0 +1,443 @@
+package utils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Journaled storage mode for a TextDB file.
+ * The TextDB file is kept as the snapshot and every mutation is appended to a
+ * log file next to it as an insert, update or delete record, so a single change
+ * costs one appended line instead of a rewrite of the whole file.
+ * A background compactor folds the log back into the snapshot once it grows.
+ * On startup the snapshot is read and the log is replayed on top of it.
+ *
+ * Log format, one record per line:
+ * S|CRC OF SNAPSHOT, I|ROW|LINE, U|ROW|LINE, D|ROW
+ * The records of a batch are written between a B and a C line and are only
+ * replayed if the C line made it to the log.
+ * Every record after the S header ends with |CRC OF RECORD in hex, a record
+ * whose CRC does not match was torn by a crash and ends the log. Logs with
+ * an H header were written before records had a CRC, they are replayed as
+ * they are and rewritten.
+ *
+ * @param <T> the type of object stored in the file
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public class TextJournal<T> {
+    public static final String LOG_SUFFIX = ".log";
+
+    private static final String HEADER = "S";
+    private static final String UNSEALED_HEADER = "H";
+    private static final String INSERT = "I";
+    private static final String UPDATE = "U";
+    private static final String DELETE = "D";
+    private static final String BEGIN = "B";
+    private static final String COMMIT = "C";
+
+    // Compact once the log holds this many records
+    private static final int COMPACT_THRESHOLD = 1000;
+    private static final long COMPACT_PERIOD_SECONDS = 30;
+
+    private static final ScheduledExecutorService compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "TextJournal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A row of the snapshot, identified by its position in the last snapshot
+     * written
+     */
+    private static class Row {
+        private long id;
+        private String line;
+
+        private Row(long id, String line) {
+            this.id = id;
+            this.line = line;
+        }
+    }
+
+    private final String fileName;
+    private final String logName;
+    private final TextDB<T> textDB;
+    private LinkedHashMap<Long, Row> rows = new LinkedHashMap<>();
+    private final IdentityHashMap<T, Row> rowOf = new IdentityHashMap<>();
+    private long nextRow;
+    private int logRecords;
+    // the log read by the last replay ends in a torn record or an unfinished
+    // batch, or has no CRC on its records, and must be rewritten before appending
+    private boolean rewriteLog;
+    private BufferedWriter log;
+    private final ScheduledFuture<?> compaction;
+
+    /**
+     * Constructor for TextJournal
+     *
+     * @param fileName the snapshot file, the log is kept in fileName + ".log"
+     * @param textDB   the TextDB used to convert between objects and lines
+     */
+    public TextJournal(String fileName, TextDB<T> textDB) {
+        this.fileName = fileName;
+        this.logName = fileName + LOG_SUFFIX;
+        this.textDB = textDB;
+        compaction = compactor.scheduleWithFixedDelay(this::compactIfNeeded,
+                COMPACT_PERIOD_SECONDS, COMPACT_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Read the snapshot and replay the log on top of it
+     *
+     * @return the list of objects currently stored
+     * @throws IOException if an error occurs when reading the files
+     */
+    public synchronized List<T> load() throws IOException {
+        rows.clear();
+        rowOf.clear();
+        List<String> snapshot = new File(fileName).exists() ? TextDB.read(fileName) : new ArrayList<>();
+        LinkedHashMap<Long, String> lines = new LinkedHashMap<>();
+        for (String line : snapshot) {
+            lines.put((long) lines.size(), line);
+        }
+        nextRow = lines.size();
+        logRecords = 0;
+
+        boolean replayed = false;
+        if (new File(logName).exists()) {
+            replayed = replay(TextDB.read(logName), checksum(snapshot), lines);
+        }
+
+        List<T> objects = new ArrayList<>();
+        for (Map.Entry<Long, String> entry : lines.entrySet()) {
+            T object = textDB.createObject(entry.getValue());
+            Row row = new Row(entry.getKey(), entry.getValue());
+            rows.put(row.id, row);
+            rowOf.put(object, row);
+            objects.add(object);
+        }
+
+        if (replayed && rewriteLog) {
+            // records appended after a torn tail, or without a CRC, would break the next replay
+            compact();
+        } else if (replayed) {
+            openLog();
+        } else {
+            resetLog(checksum(snapshot));
+        }
+        return objects;
+    }
+
+    /**
+     * Apply the log records to the snapshot lines
+     * A log written for an older snapshot has already been folded in and is
+     * skipped, a torn record or an unfinished batch at the end of the log is
+     * ignored
+     *
+     * @return true if the log belongs to the current snapshot
+     */
+    private boolean replay(List<String> records, long snapshotChecksum, LinkedHashMap<Long, String> lines) {
+        String header = records.isEmpty() ? "" : records.get(0);
+        boolean sealed = header.equals(HEADER + TextDB.SEPARATOR + snapshotChecksum);
+        if (!sealed && !header.equals(UNSEALED_HEADER + TextDB.SEPARATOR + snapshotChecksum)) {
+            return false;
+        }
+        rewriteLog = !sealed;
+        List<String[]> batch = null;
+        for (String line : records.subList(1, records.size())) {
+            String record = sealed ? unseal(line) : line;
+            if (record == null) {
+                rewriteLog = true;
+                return true;
+            }
+            logRecords++;
+            if (record.equals(BEGIN) && batch == null) {
+                batch = new ArrayList<>();
+                continue;
+            }
+            if (record.equals(COMMIT) && batch != null) {
+                for (String[] parts : batch) {
+                    apply(parts, lines);
+                }
+                batch = null;
+                continue;
+            }
+            String[] parts = record.split("\\" + TextDB.SEPARATOR, 3);
+            if (!isRecord(parts)) {
+                rewriteLog = true;
+                return true;
+            }
+            if (batch != null) {
+                batch.add(parts);
+            } else {
+                apply(parts, lines);
+            }
+        }
+        rewriteLog |= batch != null;
+        return true;
+    }
+
+    /**
+     * Append the CRC of a record to it
+     */
+    private static String seal(String record) {
+        return record + TextDB.SEPARATOR + Long.toHexString(crc(record));
+    }
+
+    /**
+     * Check the CRC at the end of a line of the log
+     *
+     * @return the record without its CRC, or null if the CRC does not match
+     */
+    private static String unseal(String line) {
+        int at = line.lastIndexOf(TextDB.SEPARATOR);
+        if (at < 0) {
+            return null;
+        }
+        String record = line.substring(0, at);
+        try {
+            return Long.parseLong(line.substring(at + 1), 16) == crc(record) ? record : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isRecord(String[] parts) {
+        try {
+            Long.parseLong(parts[1]);
+        } catch (RuntimeException e) {
+            return false;
+        }
+        switch (parts[0]) {
+            case INSERT:
+            case UPDATE:
+                return parts.length == 3;
+            case DELETE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void apply(String[] parts, LinkedHashMap<Long, String> lines) {
+        long id = Long.parseLong(parts[1]);
+        if (parts[0].equals(DELETE)) {
+            lines.remove(id);
+        } else {
+            lines.put(id, parts[2]);
+            nextRow = Math.max(nextRow, id + 1);
+        }
+    }
+
+    /**
+     * Append an insert record for a new object
+     *
+     * @param object the object added
+     * @throws IOException if an error occurs when writing to the log
+     */
+    public synchronized void insert(T object) throws IOException {
+        Row row = new Row(nextRow++, textDB.objectToString(object));
+        rows.put(row.id, row);
+        rowOf.put(object, row);
+        append(INSERT + TextDB.SEPARATOR + row.id + TextDB.SEPARATOR + row.line);
+    }
+
+    /**
+     * Append an update record for an object that has been changed
+     *
+     * @param object the object changed
+     * @throws IOException if an error occurs when writing to the log
+     */
+    public synchronized void update(T object) throws IOException {
+        Row row = rowOf.get(object);
+        if (row == null) {
+            insert(object);
+            return;
+        }
+        row.line = textDB.objectToString(object);
+        append(UPDATE + TextDB.SEPARATOR + row.id + TextDB.SEPARATOR + row.line);
+    }
+
+    /**
+     * Append a delete record for an object that has been removed
+     *
+     * @param object the object removed
+     * @throws IOException if an error occurs when writing to the log
+     */
+    public synchronized void delete(T object) throws IOException {
+        Row row = rowOf.remove(object);
+        if (row == null) {
+            return;
+        }
+        rows.remove(row.id);
+        append(DELETE + TextDB.SEPARATOR + row.id);
+    }
+
+    /**
+     * Record the changes of several objects as one batch, written to the log
+     * with a single flush. After a crash either every change of the batch is
+     * replayed or none of them is.
+     *
+     * @param changed the objects added or changed
+     * @param removed the objects removed
+     * @throws IOException if an error occurs when writing to the log
+     */
+    public synchronized void commit(Collection<? extends T> changed, Collection<? extends T> removed)
+            throws IOException {
+        List<String> records = new ArrayList<>(changed.size() + removed.size() + 2);
+        records.add(BEGIN);
+        for (T object : changed) {
+            Row row = rowOf.get(object);
+            String kind = UPDATE;
+            if (row == null) {
+                row = new Row(nextRow++, null);
+                rows.put(row.id, row);
+                rowOf.put(object, row);
+                kind = INSERT;
+            }
+            row.line = textDB.objectToString(object);
+            records.add(kind + TextDB.SEPARATOR + row.id + TextDB.SEPARATOR + row.line);
+        }
+        for (T object : removed) {
+            Row row = rowOf.remove(object);
+            if (row != null) {
+                rows.remove(row.id);
+                records.add(DELETE + TextDB.SEPARATOR + row.id);
+            }
+        }
+        if (records.size() == 1) {
+            return;
+        }
+        records.add(COMMIT);
+        append(records);
+    }
+
+    /**
+     * Fold the log into the snapshot and start an empty log
+     *
+     * @throws IOException if an error occurs when writing the files
+     */
+    public synchronized void compact() throws IOException {
+        List<String> snapshot = new ArrayList<>(rows.size());
+        LinkedHashMap<Long, Row> renumbered = new LinkedHashMap<>();
+        for (Row row : rows.values()) {
+            snapshot.add(row.line);
+        }
+
+        String tempName = fileName + ".tmp";
+        TextDB.write(tempName, snapshot);
+        Files.move(Paths.get(tempName), Paths.get(fileName), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+
+        // rows are numbered by their position in the snapshot just written
+        for (Row row : rows.values()) {
+            row.id = renumbered.size();
+            renumbered.put(row.id, row);
+        }
+        rows = renumbered;
+        nextRow = rows.size();
+        resetLog(checksum(snapshot));
+    }
+
+    private synchronized void compactIfNeeded() {
+        if (logRecords < COMPACT_THRESHOLD) {
+            return;
+        }
+        try {
+            compact();
+        } catch (IOException e) {
+            System.out.println("IOException while compacting " + fileName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Close the log file and stop compacting it, the journal is not used
+     * afterwards
+     */
+    public synchronized void close() {
+        compaction.cancel(false);
+        closeLog();
+    }
+
+    private void closeLog() {
+        try {
+            if (log != null) {
+                log.close();
+            }
+        } catch (IOException e) {
+            System.out.println("IOException while closing " + logName + ": " + e.getMessage());
+        }
+        log = null;
+    }
+
+    private void append(String record) throws IOException {
+        append(Collections.singletonList(record));
+    }
+
+    private void append(List<String> records) throws IOException {
+        if (log == null) {
+            openLog();
+        }
+        for (String record : records) {
+            log.write(seal(record));
+            log.newLine();
+        }
+        log.flush();
+        logRecords += records.size();
+    }
+
+    private void resetLog(long snapshotChecksum) throws IOException {
+        closeLog();
+        String tempName = logName + ".tmp";
+        List<String> header = new ArrayList<>();
+        header.add(HEADER + TextDB.SEPARATOR + snapshotChecksum);
+        TextDB.write(tempName, header);
+        Files.move(Paths.get(tempName), Paths.get(logName), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        logRecords = 0;
+        openLog();
+    }
+
+    private void openLog() throws IOException {
+        closeLog();
+        log = Files.newBufferedWriter(Paths.get(logName), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Checksum of the snapshot lines, used to match a log to its snapshot
+     */
+    private static long checksum(List<String> lines) {
+        CRC32 crc = new CRC32();
+        for (String line : lines) {
+            crc.update(line.getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        return crc.getValue();
+    }
+
+    private static long crc(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
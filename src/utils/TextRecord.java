@@ -0,0 +1,144 @@
+package utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * One line of a database file, viewed in place over the bytes read or mapped
+ * from the file.
+ * The line is split on the separator only when a field is first asked for, and
+ * each field is decoded on its own, so fields that are not used are never
+ * turned into strings.
+ * Fields follow StringTokenizer: empty fields are skipped and each field is
+ * trimmed.
+ * A record passed to a reader callback is reused for the next line, so it is
+ * only valid during the callback.
+ * @author group1
+ * @version 1.0
+ * @since 24 nov 2023
+ */
+public final class TextRecord {
+    private static final byte SEPARATOR = (byte) TextDB.SEPARATOR.charAt(0);
+
+    private ByteBuffer buffer;
+    private int start;
+    private int end;
+    // start and end of each field, filled in when a field is first asked for
+    private int[] bounds = new int[16];
+    private int fieldCount = -1;
+    private byte[] scratch = new byte[64];
+
+    /**
+     * Constructor of an empty record, set by the reader for each line
+     */
+    TextRecord() {
+    }
+
+    /**
+     * Create a record over a line held as a string
+     * @param line the line
+     * @return the record of the line
+     */
+    public static TextRecord of(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        TextRecord record = new TextRecord();
+        record.reset(ByteBuffer.wrap(bytes), 0, bytes.length);
+        return record;
+    }
+
+    /**
+     * Point the record at another line, a trailing carriage return is dropped
+     * @param buffer the bytes of the file
+     * @param start the index of the first byte of the line
+     * @param end the index after the last byte of the line, excluding the newline
+     */
+    void reset(ByteBuffer buffer, int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        this.fieldCount = -1;
+    }
+
+    /**
+     * Get the number of fields in the line
+     * @return the number of non empty fields
+     */
+    public int fieldCount() {
+        split();
+        return fieldCount;
+    }
+
+    /**
+     * Get a field of the line
+     * @param index the index of the field, from 0
+     * @return the field, trimmed
+     * @throws NoSuchElementException if the line has fewer fields
+     */
+    public String field(int index) {
+        split();
+        if (index < 0 || index >= fieldCount) {
+            throw new NoSuchElementException("No field " + index + " in " + line());
+        }
+        int from = bounds[2 * index];
+        int to = bounds[2 * index + 1];
+        // trim like String.trim, whitespace is ASCII so it can be found on bytes
+        while (from < to && (buffer.get(from) & 0xFF) <= ' ') {
+            from++;
+        }
+        while (to > from && (buffer.get(to - 1) & 0xFF) <= ' ') {
+            to--;
+        }
+        return decode(from, to);
+    }
+
+    /**
+     * Get the whole line
+     * @return the line, without its line terminator
+     */
+    public String line() {
+        return decode(start, end);
+    }
+
+    /**
+     * Find the fields of the line, the separator is a single byte that cannot
+     * be part of a multi-byte UTF-8 character
+     */
+    private void split() {
+        if (fieldCount >= 0) {
+            return;
+        }
+        int count = 0;
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buffer.get(i) == SEPARATOR) {
+                if (i > fieldStart) {
+                    if (2 * count + 2 > bounds.length) {
+                        bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                    }
+                    bounds[2 * count] = fieldStart;
+                    bounds[2 * count + 1] = i;
+                    count++;
+                }
+                fieldStart = i + 1;
+            }
+        }
+        fieldCount = count;
+    }
+
+    private String decode(int from, int to) {
+        int length = to - from;
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + from, length, StandardCharsets.UTF_8);
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(from, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}